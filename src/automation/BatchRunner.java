@@ -0,0 +1,137 @@
+package automation;
+
+import automation.helpers.DriverProfiler;
+import automation.helpers.Metrics;
+import automation.helpers.TaskInputs;
+import automation.tasks.AutomationTask;
+import automation.tasks.PageLoadTimeTask;
+import automation.tasks.TaskRegistry;
+import automation.ui.ConsoleProgressUI;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+
+// Unattended entry point: runs one task against one server with headless Chrome
+// and no Swing dialogs. Example:
+//   java automation.BatchRunner --task "Import Glass Parts" --server Staging
+//        --input Glass.csv --option sessions=4 --json
+public class BatchRunner {
+    private static final String USAGE = String.join("\n",
+        "Usage: BatchRunner --task <name> --server <name> [options]",
+        "  --input <path>       file or folder for the task, repeat in the order the task asks",
+        "  --option key=value   task setting normally asked for in a dialog (e.g. sessions=4, mode=sync, engine=direct);",
+        "                       one key per --option, repeat it for each setting",
+        "  --json               write progress as JSON lines instead of text",
+        "  --headed             show the browser window",
+        "  --profile            time every WebDriver command and print a hot-spot report");
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    public static int run(String[] args) {
+        String taskName = null;
+        String serverName = null;
+        boolean json = false;
+        boolean headless = true;
+        List<String> inputs = new ArrayList<>();
+        Map<String, String> options = new HashMap<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--task":
+                        taskName = args[++i];
+                        break;
+                    case "--server":
+                        serverName = args[++i];
+                        break;
+                    case "--input":
+                        inputs.add(args[++i]);
+                        break;
+                    case "--option":
+                        String[] pair = args[++i].split("=", 2);
+                        options.put(pair[0].trim(), pair.length > 1 ? pair[1].trim() : "");
+                        break;
+                    case "--json":
+                        json = true;
+                        break;
+                    case "--headed":
+                        headless = false;
+                        break;
+                    case "--profile":
+                        System.setProperty("driver.profile", "true");
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.err.println("Missing value for " + args[args.length - 1]);
+            System.err.println(USAGE);
+            return 2;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        if (taskName == null || serverName == null) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        AutomationTask task = TaskRegistry.getTask(taskName);
+        if (task == null || task instanceof PageLoadTimeTask) {
+            System.err.println("Task not available in batch mode: " + taskName);
+            System.err.println("Available: " + String.join(", ", TaskRegistry.getTaskNames()));
+            return 2;
+        }
+
+        ServerManager.Server server = findServer(serverName);
+        if (server == null) {
+            System.err.println("Unknown server: " + serverName);
+            return 2;
+        }
+
+        TaskInputs.enableBatchMode(inputs, options);
+        SessionFactory.setHeadless(headless);
+        ConsoleProgressUI progressUI = new ConsoleProgressUI(json);
+
+        DriverProfiler profiler = DriverProfiler.isEnabled() ? new DriverProfiler() : null;
+        WebDriver driver = null;
+        try {
+            progressUI.updateStatus("Launching browser");
+            driver = SessionPool.getInstance().acquire(server);
+            progressUI.updateStatus("Logged in. Running task...");
+
+            task.setServer(server);
+            Metrics.startRun(task.getName(), server.getName());
+            task.execute(profiler != null ? profiler.wrap(driver) : driver, server.getUrl(), progressUI);
+        } catch (Exception e) {
+            Metrics.countTaskError();
+            TaskInputs.reportError("❌ " + taskName + " failed: " + e.getMessage());
+        } finally {
+            Metrics.finishRun();
+            if (profiler != null) profiler.finish(task.getName(), server.getName());
+            if (driver != null) {
+                driver.quit();
+            }
+            SessionPool.getInstance().shutdown();
+            progressUI.close();
+        }
+
+        return TaskInputs.hasErrors() ? 1 : 0;
+    }
+
+    private static ServerManager.Server findServer(String name) {
+        for (ServerManager.Server server : new ServerManager().getServers()) {
+            if (server.getName().equalsIgnoreCase(name)) {
+                return server;
+            }
+        }
+        return null;
+    }
+}
@@ -3,6 +3,8 @@ package automation;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import automation.helpers.CsvReader;
 import org.jasypt.util.text.BasicTextEncryptor;
 
 public class ServerManager {
@@ -32,6 +34,21 @@ public class ServerManager {
         public String getUrl() { return url; }
         public String getUsername() { return username; }
         public String getPassword() { return password; }
+
+        // Identity for pooling sessions: same server and same login
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Server)) return false;
+            Server other = (Server) o;
+            return Objects.equals(name, other.name) && Objects.equals(url, other.url)
+                && Objects.equals(username, other.username) && Objects.equals(password, other.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, url, username, password);
+        }
     }
 
     public ServerManager() {
@@ -68,17 +85,15 @@ public class ServerManager {
             return servers;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
+        try (CsvReader csv = CsvReader.open(CSV_PATH)) {
             boolean isHeader = true;
 
-            while ((line = br.readLine()) != null) {
+            for (String[] f : csv) {
                 if (isHeader) {
                     isHeader = false;
                     continue;
                 }
 
-                String[] f = parseCSVLine(line);
                 if (f.length >= 4) {
                     String decryptedPassword = f[3].isEmpty() ? "" : encryptor.decrypt(f[3]);
                     servers.add(new Server(f[0], f[1], f[2], decryptedPassword));
@@ -113,26 +128,4 @@ public class ServerManager {
         }
         return value;
     }
-
-    private static String[] parseCSVLine(String line) {
-        List<String> values = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"' && (i == 0 || line.charAt(i - 1) != '\\')) {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                values.add(sb.toString().replace("\"\"", "\""));
-                sb.setLength(0);
-            } else {
-                sb.append(c);
-            }
-        }
-
-        values.add(sb.toString().replace("\"\"", "\""));
-        return values.toArray(new String[0]);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package automation;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+public class SessionFactory {
+    private static boolean driverSetupDone = false;
+    private static volatile boolean headless = false;
+
+    public static void setHeadless(boolean enabled) {
+        headless = enabled;
+    }
+
+    public static synchronized void setupDriver() {
+        if (!driverSetupDone) {
+            WebDriverManager.chromedriver().setup();
+            driverSetupDone = true;
+        }
+    }
+
+    // Launches a new browser and logs in to the given server
+    public static WebDriver openSession(ServerManager.Server server) {
+        return openSession(server, headless);
+    }
+
+    public static WebDriver openSession(ServerManager.Server server, boolean headless) {
+        setupDriver();
+        WebDriver driver = new ChromeDriver(createOptions(headless));
+
+        try {
+            driver.get(server.getUrl());
+            if (!headless) {
+                driver.manage().window().maximize();
+            }
+            login(driver, server);
+            return driver;
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+    }
+
+    public static ChromeOptions createOptions() {
+        return createOptions(headless);
+    }
+
+    public static ChromeOptions createOptions(boolean headless) {
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        return options;
+    }
+
+    public static void login(WebDriver driver, ServerManager.Server server) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        wait.until(ExpectedConditions.elementToBeClickable(By.id("login_user_name")))
+            .sendKeys(server.getUsername());
+        wait.until(ExpectedConditions.elementToBeClickable(By.id("login_password")))
+            .sendKeys(server.getPassword());
+        wait.until(ExpectedConditions.elementToBeClickable(By.id("submit_button")))
+            .click();
+    }
+}
@@ -0,0 +1,133 @@
+package automation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps logged-in browser sessions alive between tasks so each server only
+// pays for the browser launch and login once
+public class SessionPool {
+    private static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(15);
+    private static final long EVICTION_INTERVAL_SEC = 60;
+    private static final int MAX_IDLE_PER_SERVER = 8;
+    private static final SessionPool INSTANCE = new SessionPool();
+
+    private final Map<ServerManager.Server, Deque<IdleSession>> idleSessions = new HashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    private static class IdleSession {
+        final WebDriver driver;
+        final long releasedAt;
+
+        IdleSession(WebDriver driver) {
+            this.driver = driver;
+            this.releasedAt = System.currentTimeMillis();
+        }
+    }
+
+    private SessionPool() {
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleAtFixedRate(this::evictIdle,
+            EVICTION_INTERVAL_SEC, EVICTION_INTERVAL_SEC, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    public static SessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    // Returns a healthy logged-in session on the server's start page
+    public WebDriver acquire(ServerManager.Server server) {
+        IdleSession idle;
+        while ((idle = pollIdle(server)) != null) {
+            if (prepare(idle.driver, server)) {
+                return idle.driver;
+            }
+            quietly(idle.driver);
+        }
+        return SessionFactory.openSession(server);
+    }
+
+    public void release(ServerManager.Server server, WebDriver driver) {
+        if (driver == null) return;
+
+        synchronized (idleSessions) {
+            Deque<IdleSession> sessions = idleSessions.computeIfAbsent(server, s -> new ArrayDeque<>());
+            if (sessions.size() < MAX_IDLE_PER_SERVER) {
+                sessions.push(new IdleSession(driver));
+                return;
+            }
+        }
+        quietly(driver);
+    }
+
+    public void shutdown() {
+        List<WebDriver> drivers = new ArrayList<>();
+        synchronized (idleSessions) {
+            for (Deque<IdleSession> sessions : idleSessions.values()) {
+                for (IdleSession session : sessions) {
+                    drivers.add(session.driver);
+                }
+            }
+            idleSessions.clear();
+        }
+        drivers.forEach(SessionPool::quietly);
+    }
+
+    private IdleSession pollIdle(ServerManager.Server server) {
+        synchronized (idleSessions) {
+            Deque<IdleSession> sessions = idleSessions.get(server);
+            return sessions == null ? null : sessions.poll();
+        }
+    }
+
+    // Health check: the browser must respond, and an expired login is renewed in place
+    private boolean prepare(WebDriver driver, ServerManager.Server server) {
+        try {
+            driver.get(server.getUrl());
+            Object loggedOut = ((JavascriptExecutor) driver).executeScript(
+                "return document.getElementById('login_user_name') !== null;");
+            if (Boolean.TRUE.equals(loggedOut)) {
+                SessionFactory.login(driver, server);
+            }
+            return true;
+        } catch (Exception e) {
+            System.out.println("Discarding unhealthy session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TIMEOUT_MS;
+        List<WebDriver> expired = new ArrayList<>();
+
+        synchronized (idleSessions) {
+            for (Deque<IdleSession> sessions : idleSessions.values()) {
+                sessions.removeIf(session -> {
+                    if (session.releasedAt < cutoff) {
+                        expired.add(session.driver);
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+        expired.forEach(SessionPool::quietly);
+    }
+
+    private static void quietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // Browser already gone
+        }
+    }
+}
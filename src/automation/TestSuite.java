@@ -1,20 +1,15 @@
 package automation;
 
+import automation.helpers.DriverProfiler;
+import automation.helpers.Metrics;
 import automation.tasks.AutomationTask;
 import automation.tasks.PageLoadTimeTask;
 import automation.tasks.TaskRegistry;
 import automation.ui.AutomationUI;
 import automation.ui.ProgressUI;
 import automation.ui.ServerUI;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 import javax.swing.*;
 
@@ -47,37 +42,35 @@ public class TestSuite {
     }
 
     public static void runSeleniumTest(ServerManager.Server server, String taskName) {
-        WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
-        
         try {
             // Initialize progress UI
             progressUI.showProgress("Automation Progress", "Initializing...");
             progressUI.updateStatus("Launching browser");
             
-            // Navigate to server and login
-            driver.get(server.getUrl());
-            driver.manage().window().maximize();
-            
-            // Login (existing code)
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.elementToBeClickable(By.id("login_user_name")))
-                .sendKeys(server.getUsername());
-            wait.until(ExpectedConditions.elementToBeClickable(By.id("login_password")))
-                .sendKeys(server.getPassword());
-            wait.until(ExpectedConditions.elementToBeClickable(By.id("submit_button")))
-                .click();
+            // Reuse a logged-in session for this server if one is idle
+            WebDriver driver = SessionPool.getInstance().acquire(server);
             
             progressUI.updateStatus("Logged in. Running task...");
             
             // Execute the selected task
             AutomationTask task = TaskRegistry.getTask(taskName);
             if (task != null) {
-                task.execute(driver, server.getUrl(), progressUI);
+                // The pool keeps the plain driver; only the task sees the profiled one
+                DriverProfiler profiler = DriverProfiler.isEnabled() ? new DriverProfiler() : null;
+                WebDriver taskDriver = profiler != null ? profiler.wrap(driver) : driver;
+
+                task.setServer(server);
+                Metrics.startRun(task.getName(), server.getName());
+                try {
+                    task.execute(taskDriver, server.getUrl(), progressUI);
+                } finally {
+                    Metrics.finishRun();
+                    if (profiler != null) profiler.finish(task.getName(), server.getName());
+                }
                 
                 // Only auto-close for non-timer tasks
                 if (!(task instanceof PageLoadTimeTask)) {
-                    driver.quit();
+                    SessionPool.getInstance().release(server, driver);
                     progressUI.close();
                     SwingUtilities.invokeLater(TestSuite::startApplication);
                 }
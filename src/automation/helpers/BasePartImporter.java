@@ -1,6 +1,5 @@
 package automation.helpers;
 
-import java.io.*;
 import java.util.ArrayList;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
@@ -22,15 +21,7 @@ public abstract class BasePartImporter<T> {
     protected abstract void fillItemSpecificFields(T item);
 
     public ArrayList<T> CSVReader(String csvPath) throws Exception {
-        ArrayList<T> itemList = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(csvPath))) {
-            br.readLine(); // Skip header
-            String line;
-            while ((line = br.readLine()) != null) {
-                itemList.add(createItem(line.split(",")));
-            }
-        }
-        return itemList;
+        return new ArrayList<>(CsvReader.read(csvPath, this::createItem));
     }
 
     public void importItems(ArrayList<T> items, String baseUrl) {
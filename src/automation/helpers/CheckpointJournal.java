@@ -0,0 +1,174 @@
+package automation.helpers;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Append-only record of item outcomes per (server, task, input). Every entry is
+// fsync'd before the next item starts, so a crash loses at most the item in flight
+// and a rerun can skip everything already done.
+public class CheckpointJournal implements Closeable {
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private static final String JOURNAL_DIR = "checkpoints";
+    private static final int HASH_PREFIX_LENGTH = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, String> outcomes = new HashMap<>();
+
+    private CheckpointJournal(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            dropTornLine();
+            load();
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static CheckpointJournal open(String serverName, String taskName, String inputHash)
+            throws IOException {
+        Path dir = Paths.get(JOURNAL_DIR);
+        Files.createDirectories(dir);
+        String fileName = sanitize(serverName) + "_" + sanitize(taskName) + "_"
+            + inputHash.substring(0, Math.min(HASH_PREFIX_LENGTH, inputHash.length())) + ".journal";
+        return new CheckpointJournal(dir.resolve(fileName));
+    }
+
+    public static String hashFile(String filePath) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    public static String hashText(String text) {
+        return toHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public synchronized boolean isCompleted(String key) {
+        return DONE.equals(outcomes.get(key));
+    }
+
+    public synchronized int getCompletedCount() {
+        return (int) outcomes.values().stream().filter(DONE::equals).count();
+    }
+
+    public synchronized void record(String key, String status, String detail) throws IOException {
+        String line = status + "\t" + escape(key) + "\t" + escape(detail == null ? "" : detail) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        outcomes.put(key, status);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // A crash mid-write leaves a final line with no newline; cut it off so the next
+    // record starts on a line of its own instead of being glued onto the fragment
+    private void dropTornLine() throws IOException {
+        long size = channel.size();
+        long end = size;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) break;
+            }
+            int newline = -1;
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            if (newline >= 0) {
+                end = start + newline + 1;
+                break;
+            }
+            end = start;
+        }
+        if (end < size) {
+            System.out.println("⚠️ Dropping an incomplete last entry from " + path.getFileName());
+            channel.truncate(end);
+            channel.force(false);
+        }
+    }
+
+    private void load() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", 3);
+                if (parts.length == 3 && (parts[0].equals(DONE) || parts[0].equals(FAILED))) {
+                    outcomes.put(unescape(parts[1]), parts[0]);
+                }
+            }
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char n = value.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String sanitize(String name) {
+        return (name == null ? "unknown" : name).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -1,37 +1,233 @@
 package automation.helpers;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class CsvReader {
+// Streaming RFC 4180 parser: a single-pass state machine over a buffered reader.
+// Quoted fields may contain commas, doubled quotes and line breaks. Only the
+// current record is held in memory, so files of any size parse in flat memory.
+public class CsvReader implements Iterator<String[]>, Iterable<String[]>, Closeable {
     private static final int DEFAULT_SKIP_LINES = 1;
+    private static final int NO_CHAR = -2;
+    // What Excel writes for "CSV (Comma delimited)" on Western-European Windows
+    private static final Charset LEGACY_CHARSET = Charset.forName("windows-1252");
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> record = new ArrayList<>();
+    private int pushedBack = NO_CHAR;
+    private boolean started = false;
+    private boolean finished = false;
+    private String[] next;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    // UTF-8 when the whole file decodes as UTF-8 (a BOM is skipped), otherwise Windows-1252,
+    // so supplier files saved by Excel keep their £ signs and accents
+    public static CsvReader open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        InputStream in = new BufferedInputStream(Files.newInputStream(path));
+        try {
+            Charset charset = isUtf8(path) ? StandardCharsets.UTF_8 : LEGACY_CHARSET;
+            if (charset == StandardCharsets.UTF_8) skipBom(in);
+            return new CsvReader(new InputStreamReader(in, charset));
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean isUtf8(Path path) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.allocate(64 * 1024);
+        CharBuffer chars = CharBuffer.allocate(64 * 1024);
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+                bytes.position(bytes.position() + read);
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, false);
+                if (result.isError()) return false;
+                bytes.compact();
+                chars.clear();
+            }
+            bytes.flip();
+            return !decoder.decode(bytes, chars, true).isError() && !decoder.flush(chars).isError();
+        }
+    }
+
+    private static void skipBom(InputStream in) throws IOException {
+        in.mark(3);
+        if (in.read() != 0xEF || in.read() != 0xBB || in.read() != 0xBF) {
+            in.reset();
+        }
+    }
 
     public static <T> List<T> read(String filePath, Function<String[], T> mapper) throws IOException {
         return read(filePath, mapper, DEFAULT_SKIP_LINES);
     }
 
-    public static <T> List<T> read(String filePath, Function<String[], T> mapper, int skipLines) 
+    public static <T> List<T> read(String filePath, Function<String[], T> mapper, int skipLines)
+            throws IOException {
+        try (Stream<T> rows = stream(filePath, mapper, skipLines)) {
+            List<T> items = new ArrayList<>();
+            rows.forEach(items::add);
+            return items;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Lazily maps records as they are parsed; close the stream to release the file
+    public static <T> Stream<T> stream(String filePath, Function<String[], T> mapper, int skipLines)
             throws IOException {
-        List<T> items = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            // Skip header lines
-            for (int i = 0; i < skipLines; i++) {
-                br.readLine();
+        CsvReader csv = open(filePath);
+        return csv.stream()
+            .skip(skipLines)
+            .filter(fields -> !isBlank(fields))
+            .map(mapper);
+    }
+
+    public static int countRecords(String filePath, int skipLines) throws IOException {
+        try (Stream<String[]> rows = stream(filePath, fields -> fields, skipLines)) {
+            return (int) rows.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public Stream<String[]> stream() {
+        Spliterator<String[]> spliterator = Spliterators.spliteratorUnknownSize(
+            this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::closeQuietly);
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return this;
+    }
+
+    @Override
+    public Spliterator<String[]> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String[] current = next;
+        next = null;
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        reader.close();
+    }
+
+    public static boolean isBlank(String[] fields) {
+        return fields.length == 1 && fields[0].trim().isEmpty();
+    }
+
+    private String[] readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    items.add(mapper.apply(parseCsvLine(line)));
+        record.clear();
+        field.setLength(0);
+        boolean inQuotes = false;
+
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    // Unterminated quote: keep what we have
+                    record.add(field.toString());
+                    break;
+                } else if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        unread(peek);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int peek = read();
+                    if (peek != '\n') unread(peek);
                 }
+                record.add(field.toString());
+                break;
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else {
+                field.append((char) c);
             }
+            c = read();
+        }
+        return record.toArray(new String[0]);
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NO_CHAR) {
+            int c = pushedBack;
+            pushedBack = NO_CHAR;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') c = reader.read(); // Skip UTF-8 byte order mark
         }
-        return items;
+        return c;
     }
 
-    private static String[] parseCsvLine(String line) {
-        // Simple CSV parser - handles basic cases with quoted values
-        return line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
     }
-}
\ No newline at end of file
+}
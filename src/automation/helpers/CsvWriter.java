@@ -0,0 +1,43 @@
+package automation.helpers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Streaming RFC 4180 writer, the counterpart of CsvReader. Every field is quoted and
+// records end in CRLF, the way drawing_settings.csv was exported, so files diff cleanly.
+public class CsvWriter implements Closeable, Flushable {
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+
+    public static CsvWriter create(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        return new CsvWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write('"');
+            writer.write(fields[i] == null ? "" : fields[i].replace("\"", "\"\""));
+            writer.write('"');
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,232 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+
+import java.time.Duration;
+import java.util.*;
+
+// Reads and writes the DrawingBoard property tables. Each call is one async script that
+// opens the requested tree sections in turn inside the page, so a whole template costs a
+// single round trip to read and one more to write whatever differs.
+public class DrawingProperties {
+    // How long a section may take to show its own rows after its tree node is clicked
+    private static final long SECTION_SETTLE_MS = 3_000;
+
+    // Opens a section by its tree-text label and calls back once the property table shows
+    // fresh rows (the previous section's rows are tagged first) and no jQuery request is pending
+    private static final String SECTION_FUNCTIONS =
+        "function norm(s) { return (s || '').replace(/\\s+/g, ' ').trim(); }" +
+        "function table() { return document.querySelector('div.property-list table.property-table'); }" +
+        "function treeNodes() { return Array.prototype.slice.call(document.querySelectorAll('span.tree-text')); }" +
+        "function findNode(name) {" +
+        "  var nodes = treeNodes();" +
+        "  for (var i = 0; i < nodes.length; i++) if (norm(nodes[i].textContent) === name) return nodes[i];" +
+        "  return null;" +
+        "}" +
+        "function findRow(name) {" +
+        "  var t = table();" +
+        "  if (!t) return null;" +
+        "  for (var i = 0; i < t.rows.length; i++) {" +
+        "    if (t.rows[i].cells.length > 1 && norm(t.rows[i].cells[0].textContent) === name) return t.rows[i];" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "function openSection(name, settleMs, then) {" +
+        "  var node = findNode(name);" +
+        "  if (!node) { then(false); return; }" +
+        "  var t = table();" +
+        "  if (t) for (var i = 0; i < t.rows.length; i++) t.rows[i].__seen = true;" +
+        "  node.click();" +
+        "  var deadline = Date.now() + settleMs, lastCount = -1;" +
+        "  (function poll() {" +
+        "    var t = table(), rows = t ? t.rows : [];" +
+        "    var fresh = rows.length > 0 && !rows[0].__seen;" +
+        "    var idle = !window.jQuery || jQuery.active === 0;" +
+        "    if (fresh && idle && rows.length === lastCount) { then(true); return; }" +
+        "    lastCount = fresh ? rows.length : -1;" +
+        "    if (Date.now() >= deadline) { then(!!t); return; }" +
+        "    setTimeout(poll, 50);" +
+        "  })();" +
+        "}";
+
+    private static final String LIST_SCRIPT =
+        SECTION_FUNCTIONS +
+        "var names = [];" +
+        "treeNodes().forEach(function(n) {" +
+        "  var name = norm(n.textContent);" +
+        "  if (name && names.indexOf(name) < 0) names.push(name);" +
+        "});" +
+        "return names;";
+
+    // arguments[0]: section names, or null for every tree node. Returns
+    // section -> property -> {type, value, editable}; a section that could not be opened maps to null.
+    private static final String READ_SCRIPT =
+        "var sections = arguments[0], settleMs = arguments[1], done = arguments[arguments.length - 1];" +
+        SECTION_FUNCTIONS +
+        "function readControl(row) {" +
+        "  var el = row.querySelector(\"input[type='checkbox']\");" +
+        "  if (el) return { type: 'Checkbox', value: el.checked ? 'true' : 'false', editable: !el.disabled };" +
+        "  el = row.querySelector('select');" +
+        "  if (el) {" +
+        "    var option = el.options[el.selectedIndex];" +
+        "    return { type: 'Drop-down', value: option ? norm(option.text) : '', editable: !el.disabled };" +
+        "  }" +
+        "  el = row.querySelector(\"textarea, input:not([type='hidden']):not([type='button']):not([type='image'])\");" +
+        "  if (el) return { type: 'Text Field', value: el.value, editable: !el.disabled && !el.readOnly };" +
+        "  var cell = row.cells[row.cells.length - 1];" +
+        "  return { type: 'Text Field', value: (cell.innerText || cell.textContent).trim(), editable: false };" +
+        "}" +
+        "function readSection() {" +
+        "  var t = table(), props = {};" +
+        "  if (!t) return props;" +
+        "  for (var i = 0; i < t.rows.length; i++) {" +
+        "    var row = t.rows[i];" +
+        "    if (row.cells.length < 2) continue;" +
+        "    var name = norm(row.cells[0].textContent);" +
+        "    if (name && !props[name]) props[name] = readControl(row);" +
+        "  }" +
+        "  return props;" +
+        "}" +
+        "if (!sections) {" +
+        "  sections = [];" +
+        "  treeNodes().forEach(function(n) {" +
+        "    var name = norm(n.textContent);" +
+        "    if (name && sections.indexOf(name) < 0) sections.push(name);" +
+        "  });" +
+        "}" +
+        "var result = {}, index = 0;" +
+        "(function next() {" +
+        "  if (index >= sections.length) { done(result); return; }" +
+        "  var name = sections[index++];" +
+        "  openSection(name, settleMs, function(ok) {" +
+        "    try { result[name] = ok ? readSection() : null; } catch (e) { result[name] = null; }" +
+        "    next();" +
+        "  });" +
+        "})();";
+
+    // arguments[0]: section -> property -> value. Sets each control the way a user edit would
+    // and returns "Section | Property" -> reason for every value that could not be written.
+    private static final String APPLY_SCRIPT =
+        "var changes = arguments[0], settleMs = arguments[1], done = arguments[arguments.length - 1];" +
+        SECTION_FUNCTIONS +
+        "function fire(el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); }" +
+        "function write(row, value) {" +
+        "  var el = row.querySelector(\"input[type='checkbox']\");" +
+        "  if (el) {" +
+        "    if (el.disabled) return 'disabled';" +
+        "    var on = /^(true|yes|on|1)$/i.test(value.trim());" +
+        "    if (el.checked !== on) el.click();" +
+        "    return null;" +
+        "  }" +
+        "  el = row.querySelector('select');" +
+        "  if (el) {" +
+        "    if (el.disabled) return 'disabled';" +
+        "    var wanted = norm(value).toLowerCase(), match = null;" +
+        "    for (var i = 0; i < el.options.length && !match; i++) {" +
+        "      if (norm(el.options[i].text).toLowerCase() === wanted) match = el.options[i];" +
+        "    }" +
+        "    if (!match) return \"no option '\" + value + \"'\";" +
+        "    el.value = match.value;" +
+        "  } else {" +
+        "    el = row.querySelector(\"textarea, input:not([type='hidden']):not([type='button']):not([type='image'])\");" +
+        "    if (!el) return 'read-only';" +
+        "    if (el.disabled || el.readOnly) return 'disabled';" +
+        "    el.value = value;" +
+        "    fire(el, 'input');" +
+        "  }" +
+        "  fire(el, 'change');" +
+        "  fire(el, 'blur');" +
+        "  return null;" +
+        "}" +
+        "var failed = {}, sections = Object.keys(changes), index = 0;" +
+        "(function next() {" +
+        "  if (index >= sections.length) { done(failed); return; }" +
+        "  var name = sections[index++], values = changes[name];" +
+        "  openSection(name, settleMs, function(ok) {" +
+        "    Object.keys(values).forEach(function(property) {" +
+        "      var key = name + ' | ' + property;" +
+        "      if (!ok) { failed[key] = 'section not found'; return; }" +
+        "      var row = findRow(property);" +
+        "      if (!row) { failed[key] = 'not found'; return; }" +
+        "      try {" +
+        "        var reason = write(row, values[property] == null ? '' : String(values[property]));" +
+        "        if (reason) failed[key] = reason;" +
+        "      } catch (e) { failed[key] = String(e); }" +
+        "    });" +
+        "    next();" +
+        "  });" +
+        "})();";
+
+    public static class Property {
+        private final String type;
+        private final String value;
+        private final boolean editable;
+
+        Property(String type, String value, boolean editable) {
+            this.type = type;
+            this.value = value;
+            this.editable = editable;
+        }
+
+        public String getType() { return type; }
+        public String getValue() { return value; }
+        public boolean isEditable() { return editable; }
+    }
+
+    // sections may be null to read every tree node; sections that could not be opened are left out
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, Property>> read(WebDriver driver, Collection<String> sections) {
+        PageWaits.ensureScriptTimeout(driver, scriptBudget(sections == null ? 20 : sections.size()));
+
+        List<String> names = sections == null ? null : new ArrayList<>(sections);
+        Map<String, Object> raw = Metrics.time("read properties", () ->
+            (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(READ_SCRIPT, names, SECTION_SETTLE_MS));
+
+        Map<String, Map<String, Property>> result = new LinkedHashMap<>();
+        if (raw == null) return result;
+        raw.forEach((section, props) -> {
+            if (props == null) {
+                System.out.println("⚠️ Section '" + section + "' not found on this drawing");
+                return;
+            }
+            Map<String, Property> properties = new LinkedHashMap<>();
+            ((Map<String, Object>) props).forEach((name, value) -> {
+                Map<String, Object> p = (Map<String, Object>) value;
+                properties.put(name, new Property(String.valueOf(p.get("type")),
+                    p.get("value") == null ? "" : String.valueOf(p.get("value")),
+                    Boolean.TRUE.equals(p.get("editable"))));
+            });
+            result.put(section, properties);
+        });
+        return result;
+    }
+
+    // Every section in the tree, in page order, without opening any of them
+    @SuppressWarnings("unchecked")
+    public static List<String> listSections(WebDriver driver) {
+        List<String> names = (List<String>) ((JavascriptExecutor) driver).executeScript(LIST_SCRIPT);
+        return names == null ? new ArrayList<>() : names;
+    }
+
+    // Returns "Section | Property" -> reason for each value that was not written
+    @SuppressWarnings("unchecked")
+    public static Map<String, String> apply(WebDriver driver, Map<String, Map<String, String>> changes) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        if (changes.isEmpty()) return failures;
+        PageWaits.ensureScriptTimeout(driver, scriptBudget(changes.size()));
+
+        Map<String, Object> failed = Metrics.time("write properties", () ->
+            (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(APPLY_SCRIPT, changes, SECTION_SETTLE_MS));
+        if (failed != null) {
+            failed.forEach((key, reason) -> {
+                failures.put(key, String.valueOf(reason));
+                System.out.printf("Property '%s' not set: %s%n", key, reason);
+            });
+        }
+        return failures;
+    }
+
+    private static Duration scriptBudget(int sections) {
+        return Duration.ofMillis(SECTION_SETTLE_MS * Math.max(1, sections) + 5_000);
+    }
+}
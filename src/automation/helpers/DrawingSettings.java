@@ -0,0 +1,298 @@
+package automation.helpers;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// drawing_settings.csv: one row per drawing, a "Drawing Title" column, then one
+// "Section | Property | Control type" column per property-table row on the DrawingBoard.
+// Held column by column: each column keeps a dictionary of its distinct values and one int
+// code per row, with every string interned across the file. "true", "RAL 9016 White" and the
+// like are stored once, comparing two rows is an int compare per column, and a filter
+// evaluates its predicate once per distinct value before scanning the codes.
+public class DrawingSettings {
+    public static final String TITLE_COLUMN = "Drawing Title";
+    public static final String CHECKBOX = "Checkbox";
+    public static final String DROP_DOWN = "Drop-down";
+    public static final String TEXT_FIELD = "Text Field";
+
+    // Code 0 in every column is the blank cell
+    private static final int BLANK = 0;
+    private static final int INITIAL_ROWS = 64;
+    private static final Pattern CHECKED = Pattern.compile("(?i)true|yes|on|1");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Exports leave the title empty; the drawing label names the template instead
+    private static final String LABEL_SECTION = "H&S, Notes";
+    private static final String LABEL_PROPERTY = "Drawing Label";
+
+    private final List<String> header;
+    private final Column[] columnsByIndex;
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByName = new HashMap<>();
+    private final String[][] dictionaries;
+    private final int[][] codes;
+    private final String[] titles;
+    private final List<Row> rows;
+
+    public static class Column {
+        private final String header;
+        private final String section;
+        private final String property;
+        private final String type;
+        private int index = -1;
+
+        Column(String header, String section, String property, String type) {
+            this.header = header;
+            this.section = section;
+            this.property = property;
+            this.type = type;
+        }
+
+        // Names are whitespace-normalised so they match the labels read from the page
+        public static Column parse(String header) {
+            String[] parts = header.split("\\s*\\|\\s*", 3);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Not a 'Section | Property | Control type' column: " + header);
+            }
+            return new Column(header, normalize(parts[0]), normalize(parts[1]), normalize(parts[2]));
+        }
+
+        public String getHeader() { return header; }
+        public String getSection() { return section; }
+        public String getProperty() { return property; }
+        public String getType() { return type; }
+
+        // Names one particular drawing; exports also match rows back to templates by it
+        public boolean isIdentity() {
+            return section.equals(LABEL_SECTION) && property.equals(LABEL_PROPERTY);
+        }
+    }
+
+    // A view of one row; values are looked up in the columns
+    public class Row {
+        private final int index;
+
+        Row(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() { return index; }
+        public String getTitle() { return titles[index]; }
+
+        // Blank cells read as null: the export had nothing to say about them
+        public String get(Column column) {
+            return value(index, column);
+        }
+    }
+
+    // Accumulates one column while the file streams in
+    private static class ColumnBuilder {
+        final Map<String, Integer> codesByValue = new HashMap<>();
+        final List<String> values = new ArrayList<>(Collections.singletonList(null));
+        int[] codes = new int[INITIAL_ROWS];
+
+        void set(int row, String value, Map<String, String> pool) {
+            if (row >= codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(row + 1, codes.length * 2));
+            }
+            if (value == null || value.trim().isEmpty()) {
+                codes[row] = BLANK;
+                return;
+            }
+            codes[row] = codesByValue.computeIfAbsent(value, v -> {
+                values.add(pool.computeIfAbsent(v, k -> k));
+                return values.size() - 1;
+            });
+        }
+    }
+
+    private DrawingSettings(String[] header, Column[] columnsByIndex, List<Column> columns,
+                            String[][] dictionaries, int[][] codes, String[] titles) {
+        this.header = Collections.unmodifiableList(Arrays.asList(header));
+        this.columnsByIndex = columnsByIndex;
+        this.columns = Collections.unmodifiableList(columns);
+        this.dictionaries = dictionaries;
+        this.codes = codes;
+        this.titles = titles;
+
+        for (Column column : columns) {
+            columnsByName.putIfAbsent(column.section + " | " + column.property, column);
+        }
+        List<Row> views = new ArrayList<>(titles.length);
+        for (int i = 0; i < titles.length; i++) views.add(new Row(i));
+        this.rows = Collections.unmodifiableList(views);
+    }
+
+    public static DrawingSettings load(String filePath) throws IOException {
+        try (CsvReader csv = CsvReader.open(filePath)) {
+            if (!csv.hasNext()) {
+                throw new IOException("Empty settings file: " + filePath);
+            }
+            String[] header = csv.next();
+            int titleIndex = -1;
+            Column[] byIndex = new Column[header.length];
+            List<Column> columns = new ArrayList<>();
+            for (int i = 0; i < header.length; i++) {
+                if (header[i].trim().equalsIgnoreCase(TITLE_COLUMN)) {
+                    titleIndex = i;
+                } else if (!header[i].trim().isEmpty()) {
+                    byIndex[i] = Column.parse(header[i]);
+                    byIndex[i].index = columns.size();
+                    columns.add(byIndex[i]);
+                }
+            }
+
+            int labelIndex = -1;
+            for (Column column : columns) {
+                if (column.section.equals(LABEL_SECTION) && column.property.equals(LABEL_PROPERTY)) {
+                    labelIndex = column.index;
+                    break;
+                }
+            }
+
+            Map<String, String> pool = new HashMap<>();
+            ColumnBuilder[] builders = new ColumnBuilder[columns.size()];
+            for (int c = 0; c < builders.length; c++) builders[c] = new ColumnBuilder();
+            List<String> titles = new ArrayList<>();
+
+            for (String[] fields : csv) {
+                if (CsvReader.isBlank(fields)) continue;
+                int row = titles.size();
+                for (int i = 0; i < byIndex.length; i++) {
+                    if (byIndex[i] != null) {
+                        builders[byIndex[i].index].set(row, i < fields.length ? fields[i] : null, pool);
+                    }
+                }
+                String title = titleIndex >= 0 && titleIndex < fields.length ? normalize(fields[titleIndex]) : "";
+                if (title.isEmpty() && labelIndex >= 0) {
+                    ColumnBuilder label = builders[labelIndex];
+                    title = normalize(label.values.get(label.codes[row]));
+                }
+                titles.add(pool.computeIfAbsent(title, k -> k));
+            }
+
+            int rowCount = titles.size();
+            String[][] dictionaries = new String[builders.length][];
+            int[][] codes = new int[builders.length][];
+            for (int c = 0; c < builders.length; c++) {
+                dictionaries[c] = builders[c].values.toArray(new String[0]);
+                codes[c] = Arrays.copyOf(builders[c].codes, rowCount);
+            }
+            return new DrawingSettings(header, byIndex, columns, dictionaries, codes, titles.toArray(new String[0]));
+        }
+    }
+
+    // The header as written in the file, title column included
+    public List<String> getHeader() { return header; }
+    public List<Column> getColumns() { return columns; }
+    public List<Row> getRows() { return rows; }
+    public int getRowCount() { return titles.length; }
+
+    public Column getColumn(String section, String property) {
+        return columnsByName.get(normalize(section) + " | " + normalize(property));
+    }
+
+    // null for a blank cell
+    public String value(int row, Column column) {
+        return dictionaries[column.index][codes[column.index][row]];
+    }
+
+    // Number of distinct non-blank values in the column
+    public int getDistinctCount(Column column) {
+        return dictionaries[column.index].length - 1;
+    }
+
+    // Columns whose values differ between two rows, in file order
+    public List<Column> diff(int row, int other) {
+        List<Column> changed = new ArrayList<>();
+        for (Column column : columns) {
+            int[] columnCodes = codes[column.index];
+            if (columnCodes[row] != columnCodes[other]) changed.add(column);
+        }
+        return changed;
+    }
+
+    // Columns where a row differs from a baseline row of another file; baseline blanks are ignored
+    public List<Column> diff(int row, DrawingSettings baseline, int baselineRow) {
+        List<Column> changed = new ArrayList<>();
+        for (Column column : columns) {
+            Column theirs = baseline.getColumn(column.section, column.property);
+            if (theirs == null) continue;
+            String wanted = baseline.value(baselineRow, theirs);
+            if (wanted != null && !sameValue(column.type, wanted, value(row, column))) changed.add(column);
+        }
+        return changed;
+    }
+
+    // Rows whose value in the column satisfies the test; blank cells are tested as null.
+    // The test runs once per distinct value, then the codes are scanned.
+    public BitSet rowsWhere(Column column, Predicate<String> test) {
+        String[] dictionary = dictionaries[column.index];
+        boolean[] matches = new boolean[dictionary.length];
+        boolean any = false;
+        for (int code = 0; code < dictionary.length; code++) {
+            matches[code] = test.test(dictionary[code]);
+            any |= matches[code];
+        }
+
+        BitSet result = new BitSet(titles.length);
+        if (!any) return result;
+        int[] columnCodes = codes[column.index];
+        for (int row = 0; row < columnCodes.length; row++) {
+            if (matches[columnCodes[row]]) result.set(row);
+        }
+        return result;
+    }
+
+    // e.g. rowsWithValue(getColumn("Finish & Ironmongery", "PAS 24"), "false") for every template with PAS 24 unchecked
+    public BitSet rowsWithValue(Column column, String value) {
+        return rowsWhere(column, v -> v != null && sameValue(column.type, value, v));
+    }
+
+    // Section names in column order, each once
+    public List<String> getSections() {
+        Set<String> sections = new LinkedHashSet<>();
+        columns.forEach(c -> sections.add(c.section));
+        return new ArrayList<>(sections);
+    }
+
+    // A record in this file's column order from the values read off one drawing;
+    // properties the drawing does not have are left blank
+    public String[] toRecord(String title, Map<String, Map<String, DrawingProperties.Property>> values) {
+        String[] record = new String[header.size()];
+        for (int i = 0; i < record.length; i++) {
+            Column column = columnsByIndex[i];
+            if (column == null) {
+                record[i] = header.get(i).trim().equalsIgnoreCase(TITLE_COLUMN) ? title : "";
+                continue;
+            }
+            Map<String, DrawingProperties.Property> section = values.get(column.section);
+            DrawingProperties.Property property = section == null ? null : section.get(column.property);
+            record[i] = property == null ? "" : property.getValue();
+        }
+        return record;
+    }
+
+    // Whether the value on the page already matches the wanted one for this control type
+    public static boolean sameValue(String type, String wanted, String current) {
+        if (current == null) return false;
+        if (CHECKBOX.equals(type)) {
+            return isChecked(wanted) == isChecked(current);
+        }
+        String a = normalize(wanted);
+        String b = normalize(current);
+        // Option text is matched case-insensitively when written, so compare it the same way.
+        // Text is compared as text: "007" is not "7", and a part code is not a number.
+        return DROP_DOWN.equals(type) ? a.equalsIgnoreCase(b) : a.equals(b);
+    }
+
+    public static boolean isChecked(String value) {
+        return value != null && CHECKED.matcher(value.trim()).matches();
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,195 @@
+package automation.helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opt-in (-Ddriver.profile=true or BatchRunner --profile) latency histograms for every
+// WebDriver command, keyed by command type and by the locator or script it was given.
+// The end-of-run report ranks both by total time, so the slowest locators surface first.
+public class DriverProfiler implements WebDriverListener {
+    // Upper bounds in ms; the last bucket catches everything slower
+    private static final long[] BUCKET_MS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+    private static final int REPORT_ROWS = 15;
+    private static final int SCRIPT_KEY_LENGTH = 70;
+    private static final String PROFILE_DIR = "metrics";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Map<String, Histogram> commands = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> locators = new ConcurrentHashMap<>();
+    // Calls can nest (a decorated element call made while a wait is polling), so starts are a stack
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static class Histogram {
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_MS.length + 1);
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos, boolean failed) {
+            long millis = nanos / 1_000_000;
+            int bucket = 0;
+            while (bucket < BUCKET_MS.length && millis > BUCKET_MS[bucket]) bucket++;
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (failed) errors.increment();
+        }
+
+        // Upper bound of the bucket holding the p-th percentile call, capped at the slowest call
+        long percentileMs(double p) {
+            long total = count.sum();
+            long rank = (long) Math.ceil(p / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    long maxMs = maxNanos.get() / 1_000_000;
+                    return i < BUCKET_MS.length ? Math.min(BUCKET_MS[i], maxMs) : maxMs;
+                }
+            }
+            return 0;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("driver.profile");
+    }
+
+    public WebDriver wrap(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) return;
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args, true);
+    }
+
+    private void record(Method method, Object[] args, boolean failed) {
+        if (method.getDeclaringClass() == Object.class) return;
+        Long start = starts.get().poll();
+        if (start == null) return;
+        long nanos = System.nanoTime() - start;
+
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        commands.computeIfAbsent(command, c -> new Histogram()).record(nanos, failed);
+
+        String locator = describeTarget(args);
+        if (locator != null) {
+            locators.computeIfAbsent(locator, l -> new Histogram()).record(nanos, failed);
+        }
+    }
+
+    // The By a find was given, or the start of the script an execute ran
+    private static String describeTarget(Object[] args) {
+        if (args == null || args.length == 0) return null;
+        if (args[0] instanceof By) return args[0].toString();
+        if (args[0] instanceof String && ((String) args[0]).length() > 20) {
+            String script = ((String) args[0]).replaceAll("\\s+", " ").trim();
+            return "script: " + (script.length() > SCRIPT_KEY_LENGTH
+                ? script.substring(0, SCRIPT_KEY_LENGTH) + "..." : script);
+        }
+        return null;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        report.put("bucketsMs", Arrays.stream(BUCKET_MS).boxed().toList());
+        report.put("commands", ranked(commands, Integer.MAX_VALUE));
+        report.put("locators", ranked(locators, Integer.MAX_VALUE));
+        return report;
+    }
+
+    // Prints the hot spots and saves the full histograms; returns the file, or null when nothing ran
+    public Path finish(String taskName, String serverName) {
+        if (commands.isEmpty()) return null;
+
+        printTable("Command", ranked(commands, REPORT_ROWS));
+        printTable("Locator / script", ranked(locators, REPORT_ROWS));
+        try {
+            Path dir = Paths.get(PROFILE_DIR);
+            Files.createDirectories(dir);
+            Path file = dir.resolve(sanitize(serverName) + "_" + sanitize(taskName) + "_"
+                + LocalDateTime.now().format(STAMP) + "_driver.json");
+            Files.writeString(file, new Json().toJson(toMap()), StandardCharsets.UTF_8);
+            System.out.println("📈 Driver profile saved to " + file);
+            return file;
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not save driver profile: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Map<String, Object>> ranked(Map<String, Histogram> histograms, int limit) {
+        List<Map.Entry<String, Histogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().totalNanos.sum(), a.getValue().totalNanos.sum()));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            Histogram h = entry.getValue();
+            long count = h.count.sum();
+            List<Long> buckets = new ArrayList<>();
+            for (int i = 0; i < h.buckets.length(); i++) buckets.add(h.buckets.get(i));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", entry.getKey());
+            row.put("count", count);
+            row.put("errors", h.errors.sum());
+            row.put("totalMs", h.totalNanos.sum() / 1_000_000);
+            row.put("meanMs", count == 0 ? 0 : h.totalNanos.sum() / 1_000_000 / count);
+            row.put("p50Ms", h.percentileMs(50));
+            row.put("p90Ms", h.percentileMs(90));
+            row.put("p99Ms", h.percentileMs(99));
+            row.put("maxMs", h.maxNanos.get() / 1_000_000);
+            row.put("histogram", buckets);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void printTable(String title, List<Map<String, Object>> rows) {
+        System.out.println("\n=== Driver hot spots by " + title.toLowerCase() + " ===");
+        System.out.printf("%-60s %7s %6s %9s %7s %7s %7s%n",
+            title, "calls", "errors", "total ms", "p50", "p90", "max");
+        for (Map<String, Object> row : rows) {
+            String name = String.valueOf(row.get("name"));
+            System.out.printf("%-60s %7d %6d %9d %7d %7d %7d%n",
+                name.length() > 60 ? name.substring(0, 57) + "..." : name,
+                row.get("count"), row.get("errors"), row.get("totalMs"),
+                row.get("p50Ms"), row.get("p90Ms"), row.get("maxMs"));
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value == null ? "none" : value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
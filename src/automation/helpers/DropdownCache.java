@@ -0,0 +1,113 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+
+import java.util.*;
+
+// Option lists of <select> elements, fetched in one script call and matched locally.
+// Every selection re-checks a hash of the live options in the same call that sets
+// the value, so navigation, a replaced element or repopulated options trigger a refetch.
+// Reached through ElementHelper.selectDropdownByVisibleText, i.e. forms filled one field at a
+// time such as the lead editor. The part importers set their whole dialog with fillForm, which
+// matches options inside the page in that same call, so caching would only add round trips.
+public class DropdownCache {
+    public enum Result { SELECTED, FALLBACK, NO_OPTIONS, MISSING }
+
+    private static final String HASH_FUNCTION =
+        "function optionsHash(el) {" +
+        "  var h = el.options.length;" +
+        "  for (var i = 0; i < el.options.length; i++) {" +
+        "    var s = el.options[i].value + '\\u0001' + el.options[i].text;" +
+        "    for (var c = 0; c < s.length; c++) h = (h * 31 + s.charCodeAt(c)) | 0;" +
+        "  }" +
+        "  return h;" +
+        "}";
+
+    private static final String FETCH_SCRIPT =
+        HASH_FUNCTION +
+        "var el = document.getElementById(arguments[0]);" +
+        "if (!el || el.tagName !== 'SELECT') return null;" +
+        "var texts = [];" +
+        "for (var i = 0; i < el.options.length; i++) texts.push(el.options[i].text.trim());" +
+        "return { hash: optionsHash(el), texts: texts };";
+
+    private static final String SELECT_SCRIPT =
+        HASH_FUNCTION +
+        "var el = document.getElementById(arguments[0]);" +
+        "if (!el || el.tagName !== 'SELECT') return 'missing';" +
+        "if (optionsHash(el) !== arguments[1]) return 'stale';" +
+        "el.selectedIndex = arguments[2];" +
+        "el.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "el.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "return 'ok';";
+
+    private static final Map<WebDriver, Map<String, Options>> cache = new WeakHashMap<>();
+
+    private static class Options {
+        final long hash;
+        final int size;
+        final Map<String, Integer> indexByText = new HashMap<>();
+
+        Options(long hash, List<String> texts) {
+            this.hash = hash;
+            this.size = texts.size();
+            for (int i = 0; i < texts.size(); i++) {
+                indexByText.putIfAbsent(texts.get(i).toLowerCase(), i);
+            }
+        }
+    }
+
+    // Selects by visible text (case-insensitive), falling back to the first option
+    public static Result select(WebDriver driver, String id, String visibleText) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Options options = get(driver, id);
+            if (options == null) {
+                options = fetch(driver, id);
+                if (options == null) return Result.MISSING;
+            }
+
+            Integer index = options.indexByText.get(visibleText.trim().toLowerCase());
+            if (index == null && options.size == 0) return Result.NO_OPTIONS;
+
+            Object outcome = ((JavascriptExecutor) driver).executeScript(
+                SELECT_SCRIPT, id, options.hash, index != null ? index : 0);
+            if ("ok".equals(outcome)) {
+                return index != null ? Result.SELECTED : Result.FALLBACK;
+            }
+            invalidate(driver, id);
+            if ("missing".equals(outcome)) return Result.MISSING;
+        }
+        return Result.MISSING;
+    }
+
+    public static void invalidate(WebDriver driver, String id) {
+        synchronized (cache) {
+            Map<String, Options> selects = cache.get(driver);
+            if (selects != null) selects.remove(id);
+        }
+    }
+
+    private static Options get(WebDriver driver, String id) {
+        synchronized (cache) {
+            Map<String, Options> selects = cache.get(driver);
+            return selects == null ? null : selects.get(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Options fetch(WebDriver driver, String id) {
+        Map<String, Object> raw = (Map<String, Object>)
+            ((JavascriptExecutor) driver).executeScript(FETCH_SCRIPT, id);
+        if (raw == null) return null;
+
+        List<String> texts = new ArrayList<>();
+        for (Object text : (List<Object>) raw.get("texts")) {
+            texts.add(String.valueOf(text));
+        }
+        Options options = new Options(((Number) raw.get("hash")).longValue(), texts);
+        synchronized (cache) {
+            cache.computeIfAbsent(driver, d -> new HashMap<>()).put(id, options);
+        }
+        return options;
+    }
+}
@@ -4,11 +4,62 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 public class ElementHelper {
     private static final int SHORT_WAIT_TIME = 3;
+    private static final Duration CLICK_CONFIRM_TIMEOUT = Duration.ofSeconds(2);
+
+    // Sets every field in one call and fires the input/change/blur events a user edit would.
+    // Selects match option text case-insensitively (then by value); checkboxes take true/false.
+    // Returns id -> reason for each field that could not be set.
+    private static final String FILL_FORM_SCRIPT =
+        "var values = arguments[0], failed = {};" +
+        "function fire(el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); }" +
+        "Object.keys(values).forEach(function(id) {" +
+        "  var el = document.getElementById(id), value = values[id] == null ? '' : String(values[id]);" +
+        "  if (!el) { failed[id] = 'not found'; return; }" +
+        "  if (el.disabled) { failed[id] = 'disabled'; return; }" +
+        "  if (el.type === 'checkbox' || el.type === 'radio') {" +
+        "    var on = /^(true|yes|on|1)$/i.test(value.trim());" +
+        "    if (el.checked !== on) el.click();" +
+        "    return;" +
+        "  }" +
+        "  if (el.tagName === 'SELECT') {" +
+        "    var wanted = value.trim().toLowerCase(), match = null;" +
+        "    for (var i = 0; i < el.options.length && !match; i++) {" +
+        "      if (el.options[i].text.trim().toLowerCase() === wanted) match = el.options[i];" +
+        "    }" +
+        "    for (var j = 0; j < el.options.length && !match; j++) {" +
+        "      if (el.options[j].value === value) match = el.options[j];" +
+        "    }" +
+        "    if (!match) { failed[id] = \"no option '\" + value + \"'\"; return; }" +
+        "    el.value = match.value;" +
+        "  } else {" +
+        "    el.value = value;" +
+        "    fire(el, 'input');" +
+        "  }" +
+        "  fire(el, 'change');" +
+        "  fire(el, 'blur');" +
+        "});" +
+        "return failed;";
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, String> fillForm(WebDriver driver, Map<String, String> fieldValues) {
+        Map<String, Object> failed = Metrics.time("fill form", () ->
+            (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, fieldValues));
+
+        Map<String, String> failures = new LinkedHashMap<>();
+        if (failed != null) {
+            failed.forEach((id, reason) -> {
+                failures.put(id, String.valueOf(reason));
+                System.out.printf("Field '%s' not filled: %s%n", id, reason);
+            });
+        }
+        return failures;
+    }
 
     public static void enterTextById(WebDriverWait wait, String id, String text) {
         try {
@@ -26,26 +77,24 @@ public class ElementHelper {
         }
     }
 
+    // Options come from DropdownCache, so repeat selections cost one script call
     public static void selectDropdownByVisibleText(WebDriver driver, String id, String visibleText) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(SHORT_WAIT_TIME));
-            WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(By.id(id)));
-            Select select = new Select(dropdown);
-            List<WebElement> options = select.getOptions();
-
-            // Case-insensitive matching
-            Optional<WebElement> matchingOption = options.stream()
-                .filter(o -> o.getText().equalsIgnoreCase(visibleText))
-                .findFirst();
-
-            if (matchingOption.isPresent()) {
-                select.selectByVisibleText(matchingOption.get().getText());
-            } else if (!options.isEmpty()) {
-                select.selectByIndex(0); // Fallback to first option
+            DropdownCache.Result result = DropdownCache.select(driver, id, visibleText);
+            if (result == DropdownCache.Result.MISSING) {
+                Metrics.countRetry("dropdown " + id);
+                new WebDriverWait(driver, Duration.ofSeconds(SHORT_WAIT_TIME))
+                        .until(ExpectedConditions.presenceOfElementLocated(By.id(id)));
+                result = DropdownCache.select(driver, id, visibleText);
+            }
+
+            if (result == DropdownCache.Result.FALLBACK) {
                 System.out.printf("Dropdown '%s': option '%s' not found. Using fallback.%n", 
                     id, visibleText);
-            } else {
+            } else if (result == DropdownCache.Result.NO_OPTIONS) {
                 System.out.printf("Dropdown '%s' has no options.%n", id);
+            } else if (result == DropdownCache.Result.MISSING) {
+                System.out.printf("Dropdown with ID '%s' not found.%n", id);
             }
         } catch (Exception e) {
             System.out.printf("Dropdown with ID '%s' not found or not clickable: %s%n", 
@@ -63,19 +112,23 @@ public class ElementHelper {
     }
 
     public static boolean clickButtonWithRetry(WebDriver driver, String id, int retries, int waitSec) {
+        return clickButtonWithRetry(driver, id, null, retries, waitSec);
+    }
 
+    // A click counts once the region (or the whole body) mutates, outside the button itself
+    public static boolean clickButtonWithRetry(WebDriver driver, String id, String regionSelector,
+                                               int retries, int waitSec) {
         for (int i = 0; i < retries; i++) {
+            if (i > 0) Metrics.countRetry("click " + id);
             try {
-                String before = driver.getPageSource();
+                String watch = PageWaits.armMutationWatch(driver, regionSelector, id);
                 clickButtonById(driver, id);
-                Thread.sleep(2000);
-                String after = driver.getPageSource();
-                if (!before.equals(after)) return true;
+                if (PageWaits.waitForMutation(driver, watch, CLICK_CONFIRM_TIMEOUT)) return true;
                 System.out.println("Button missed");
             } catch (Exception e) {
                 try {
-                    Thread.sleep(waitSec * 1000L);
-                } catch (InterruptedException ignored) {}
+                    PageWaits.waitForAjaxIdle(driver, Duration.ofSeconds(waitSec));
+                } catch (Exception ignored) {}
             }
         }
         return false;
@@ -16,6 +16,10 @@ public class FileChooserHelper {
     }
 
     private static String showChopper(ProgressUI progressUI, String fileType, boolean isFile) {
+        if (TaskInputs.isBatchMode()) {
+            return TaskInputs.nextPath();
+        }
+
         try {
             progressUI.setVisible(false);
             String title = DEFAULT_TITLE_PREFIX + fileType + (isFile ? " File" : " Directory");
@@ -28,7 +32,69 @@ public class FileChooserHelper {
         }
     }
 
+    public static int showNumberInput(ProgressUI progressUI, String key, String prompt, int defaultValue) {
+        if (TaskInputs.isBatchMode()) {
+            return TaskInputs.getInt(key, defaultValue);
+        }
+
+        try {
+            progressUI.setVisible(false);
+            String input = AutomationUI.showInputDialog(
+                null, prompt + " (default " + defaultValue + ")", "Automation Suite | Options");
+            if (input == null || input.trim().isEmpty()) {
+                return defaultValue;
+            }
+            return Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            System.out.printf("Invalid number entered. Using default %d.%n", defaultValue);
+            return defaultValue;
+        } finally {
+            progressUI.setVisible(true);
+        }
+    }
+
+    public static String showTextInput(ProgressUI progressUI, String key, String prompt, String defaultValue) {
+        if (TaskInputs.isBatchMode()) {
+            String value = TaskInputs.getOption(key);
+            return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+        }
+
+        try {
+            progressUI.setVisible(false);
+            String input = AutomationUI.showInputDialog(
+                null, prompt + " (blank for default)", "Automation Suite | Options");
+            return input == null || input.trim().isEmpty() ? defaultValue : input.trim();
+        } finally {
+            progressUI.setVisible(true);
+        }
+    }
+
+    // Batch mode matches the option against each choice's first word, e.g. "sync"
+    public static int showChoice(ProgressUI progressUI, String key, String prompt,
+                                 String[] choices, int defaultIndex) {
+        if (TaskInputs.isBatchMode()) {
+            String value = TaskInputs.getOption(key);
+            for (int i = 0; value != null && i < choices.length; i++) {
+                if (choices[i].split(" ")[0].equalsIgnoreCase(value.trim())) return i;
+            }
+            return defaultIndex;
+        }
+
+        try {
+            progressUI.setVisible(false);
+            int choice = AutomationUI.showOptionDialog(null, prompt, "Automation Suite | Options", choices);
+            return choice == JOptionPane.CLOSED_OPTION ? defaultIndex : choice;
+        } finally {
+            progressUI.setVisible(true);
+        }
+    }
+
     public static void showErrorDialog(String message) {
+        if (TaskInputs.isBatchMode()) {
+            TaskInputs.reportError(message);
+            return;
+        }
+
         AutomationUI.showMessageDialog(
             null,
             message,
@@ -36,4 +102,4 @@ public class FileChooserHelper {
             JOptionPane.ERROR_MESSAGE
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,311 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.json.Json;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+// Posts a dialog's form straight to the server with the browser's session cookies.
+// The form is read from the live page once (action, hidden defaults, select options),
+// after which each submission is one HTTP request with no rendering or WebDriver calls.
+// A post only counts as created on a positive signal: a redirect away from the form, a JSON
+// body reporting success or an id, or the configured success marker in the body.
+public class HttpFormSubmitter {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Set<String> CHECKED_VALUES = Set.of("true", "yes", "on", "1");
+    private static final String LOGIN_MARKER = "login_user_name";
+    private static final List<String> SUCCESS_KEYS = List.of("success", "Success");
+    private static final List<String> ID_KEYS = List.of("id", "Id", "ID", "part_id", "partId", "PartId");
+    private static final List<String> ERROR_KEYS = List.of("error", "errors", "Error", "Errors");
+    // Markup a re-rendered form uses to show validation messages
+    private static final List<String> ERROR_MARKERS = List.of(
+        "validation-summary-errors", "field-validation-error", "input-validation-error", "class=\"error");
+
+    // The submit button usually sits in the dialog's button pane, outside the form itself
+    private static final String CAPTURE_SCRIPT =
+        "var btn = document.getElementById(arguments[0]);" +
+        "if (!btn) return null;" +
+        "var form = btn.form || (btn.closest('.ui-dialog') || document).querySelector('form');" +
+        "if (!form) return null;" +
+        "var defaults = [], fields = {};" +
+        "for (var i = 0; i < form.elements.length; i++) {" +
+        "  var el = form.elements[i];" +
+        "  var type = el.tagName === 'SELECT' ? 'select' : (el.type || 'text').toLowerCase();" +
+        "  if (!el.name || el.disabled || /^(submit|button|reset|file)$/.test(type)) continue;" +
+        "  var field = { name: el.name, type: type, checkedValue: el.value || 'on', options: [] };" +
+        "  if (type === 'select') {" +
+        "    for (var o = 0; o < el.options.length; o++) {" +
+        "      field.options.push([el.options[o].text.trim(), el.options[o].value]);" +
+        "      if (el.options[o].selected) defaults.push([el.name, el.options[o].value]);" +
+        "    }" +
+        "  } else if ((type !== 'checkbox' && type !== 'radio') || el.checked) {" +
+        "    defaults.push([el.name, el.value]);" +
+        "  }" +
+        "  if (el.id) fields[el.id] = field;" +
+        "}" +
+        "var action = (form.getAttribute('action') || '').trim();" +
+        "return { action: action ? new URL(action, location.href).href : null," +
+        "  defaults: defaults, fields: fields," +
+        "  userAgent: navigator.userAgent, referer: location.href };";
+
+    // rejected: the server refused the part, so the browser path may retry it.
+    // Otherwise the outcome is unknown and a retry could create a duplicate.
+    public static class SubmitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final boolean rejected;
+
+        public SubmitException(String message, boolean rejected) {
+            super(message);
+            this.rejected = rejected;
+        }
+
+        public boolean isRejected() { return rejected; }
+    }
+
+    public static class FormField {
+        final String name;
+        final String type;
+        final String checkedValue;
+        final Map<String, String> optionsByText = new HashMap<>();
+        final Set<String> optionValues = new HashSet<>();
+
+        public FormField(String name, String type, String checkedValue) {
+            this.name = name;
+            this.type = type;
+            this.checkedValue = checkedValue;
+        }
+
+        public void addOption(String text, String value) {
+            optionsByText.putIfAbsent(text.toLowerCase(), value);
+            optionValues.add(value);
+        }
+    }
+
+    public static class FormSpec {
+        final URI action;
+        final List<String[]> defaults;
+        final Map<String, FormField> fieldsById;
+
+        public FormSpec(URI action, List<String[]> defaults, Map<String, FormField> fieldsById) {
+            this.action = action;
+            this.defaults = defaults;
+            this.fieldsById = fieldsById;
+        }
+
+        public URI getAction() { return action; }
+    }
+
+    private final HttpClient client;
+    private final FormSpec spec;
+    private final Map<String, String> headers;
+    private String successMarker;
+
+    public HttpFormSubmitter(FormSpec spec, Map<String, String> headers) {
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.spec = spec;
+        this.headers = headers;
+    }
+
+    // Reads the form behind the open dialog; null when there is no form to post or it has
+    // no action of its own (the browser would post it to the current page)
+    @SuppressWarnings("unchecked")
+    public static HttpFormSubmitter fromDriver(WebDriver driver, String submitButtonId) {
+        Map<String, Object> raw = (Map<String, Object>)
+            ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT, submitButtonId);
+        if (raw == null || raw.get("action") == null) {
+            return null;
+        }
+
+        List<String[]> defaults = new ArrayList<>();
+        for (List<Object> pair : (List<List<Object>>) raw.get("defaults")) {
+            defaults.add(new String[] { String.valueOf(pair.get(0)), String.valueOf(pair.get(1)) });
+        }
+
+        Map<String, FormField> fields = new HashMap<>();
+        ((Map<String, Map<String, Object>>) raw.get("fields")).forEach((id, f) -> {
+            FormField field = new FormField(
+                String.valueOf(f.get("name")), String.valueOf(f.get("type")), String.valueOf(f.get("checkedValue")));
+            for (List<Object> option : (List<List<Object>>) f.get("options")) {
+                field.addOption(String.valueOf(option.get(0)), String.valueOf(option.get(1)));
+            }
+            fields.put(id, field);
+        });
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Cookie", driver.manage().getCookies().stream()
+            .map(c -> c.getName() + "=" + c.getValue())
+            .collect(Collectors.joining("; ")));
+        headers.put("User-Agent", String.valueOf(raw.get("userAgent")));
+        headers.put("Referer", String.valueOf(raw.get("referer")));
+        headers.put("X-Requested-With", "XMLHttpRequest");
+
+        FormSpec spec = new FormSpec(URI.create(String.valueOf(raw.get("action"))), defaults, fields);
+        return new HttpFormSubmitter(spec, headers);
+    }
+
+    public FormSpec getSpec() {
+        return spec;
+    }
+
+    // Text a successful non-redirect, non-JSON response is known to contain
+    public void setSuccessMarker(String successMarker) {
+        this.successMarker = successMarker == null || successMarker.isEmpty() ? null : successMarker;
+    }
+
+    // Field values are keyed by element id, as the browser path fills them; selects
+    // take the option's visible text and checkboxes take true/false
+    public String encode(Map<String, String> fieldValues) {
+        List<String[]> body = new ArrayList<>();
+        for (String[] pair : spec.defaults) {
+            body.add(pair.clone());
+        }
+
+        for (Map.Entry<String, String> entry : fieldValues.entrySet()) {
+            FormField field = spec.fieldsById.get(entry.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Form has no field '" + entry.getKey() + "'");
+            }
+            String value = entry.getValue() == null ? "" : entry.getValue();
+
+            if (field.type.equals("checkbox")) {
+                body.removeIf(p -> p[0].equals(field.name) && p[1].equals(field.checkedValue));
+                if (CHECKED_VALUES.contains(value.trim().toLowerCase())) {
+                    body.add(new String[] { field.name, field.checkedValue });
+                }
+                continue;
+            }
+
+            if (field.type.equals("select")) {
+                String optionValue = field.optionsByText.get(value.trim().toLowerCase());
+                if (optionValue == null && !field.optionValues.contains(value)) {
+                    throw new IllegalArgumentException(
+                        "Dropdown '" + entry.getKey() + "' has no option '" + value + "'");
+                }
+                value = optionValue != null ? optionValue : value;
+            }
+            body.removeIf(p -> p[0].equals(field.name));
+            body.add(new String[] { field.name, value });
+        }
+
+        return body.stream()
+            .map(p -> URLEncoder.encode(p[0], StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(p[1], StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+    }
+
+    // Completes exceptionally with a SubmitException unless the response confirms the part was created
+    public CompletableFuture<Void> submitAsync(Map<String, String> fieldValues) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(spec.action)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+            .POST(HttpRequest.BodyPublishers.ofString(encode(fieldValues)));
+        headers.forEach(request::header);
+
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                if (error != null) throw transportFailure(error);
+                checkResponse(response);
+                return null;
+            });
+    }
+
+    // Only a connection that was never made is a definite rejection; a timeout or reset after
+    // the body went out may still have created the part
+    private SubmitException transportFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof SubmitException) return (SubmitException) cause;
+        boolean notSent = cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException;
+        String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return new SubmitException((notSent ? "Could not connect to " : "No response from ")
+            + spec.action + ": " + reason, notSent);
+    }
+
+    void checkResponse(HttpResponse<String> response) {
+        String body = response.body() == null ? "" : response.body();
+        // A server error can come after the part was saved, so only 4xx is a refusal
+        if (response.statusCode() >= 500) {
+            throw new SubmitException("HTTP " + response.statusCode() + " from " + spec.action, false);
+        }
+        if (response.statusCode() >= 400) {
+            throw new SubmitException("HTTP " + response.statusCode() + " from " + spec.action, true);
+        }
+        if (body.contains(LOGIN_MARKER)) {
+            throw new SubmitException("Session expired (server returned the login page)", true);
+        }
+
+        // Followed a redirect somewhere other than back to the form's own URL
+        if (response.previousResponse().isPresent()
+                && !samePath(response.uri(), spec.action)) {
+            return;
+        }
+
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        String trimmed = body.trim();
+        if (contentType.contains("json") || trimmed.startsWith("{")) {
+            checkJson(trimmed);
+            return;
+        }
+
+        for (String marker : ERROR_MARKERS) {
+            if (body.contains(marker)) {
+                throw new SubmitException("Form returned with validation errors", true);
+            }
+        }
+        if (successMarker != null && body.contains(successMarker)) {
+            return;
+        }
+        throw new SubmitException("HTTP " + response.statusCode() + " without a success signal", false);
+    }
+
+    private void checkJson(String body) {
+        Map<String, Object> json;
+        try {
+            json = new Json().toType(body, Json.MAP_TYPE);
+        } catch (RuntimeException e) {
+            throw new SubmitException("Unreadable JSON response: " + e.getMessage(), false);
+        }
+
+        for (String key : SUCCESS_KEYS) {
+            if (json.containsKey(key)) {
+                if (Boolean.TRUE.equals(json.get(key)) || "true".equals(String.valueOf(json.get(key)))) return;
+                throw new SubmitException("Server refused the part: " + errorText(json), true);
+            }
+        }
+        for (String key : ERROR_KEYS) {
+            if (json.get(key) != null) {
+                throw new SubmitException("Server refused the part: " + errorText(json), true);
+            }
+        }
+        for (String key : ID_KEYS) {
+            if (json.get(key) != null) return;
+        }
+        throw new SubmitException("JSON response without a success flag or id", false);
+    }
+
+    private static String errorText(Map<String, Object> json) {
+        for (String key : List.of("message", "Message", "error", "errors", "Error", "Errors")) {
+            if (json.get(key) != null) return String.valueOf(json.get(key));
+        }
+        return "no reason given";
+    }
+
+    private static boolean samePath(URI a, URI b) {
+        return Objects.equals(a.getHost(), b.getHost()) && Objects.equals(a.getPath(), b.getPath());
+    }
+}
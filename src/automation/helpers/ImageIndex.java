@@ -0,0 +1,58 @@
+package automation.helpers;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Function;
+
+// Image library normalised once into match keys (a single exact key or a set of
+// word tokens per image), so each part lookup only touches the images sharing a key
+public class ImageIndex {
+    private final Map<String, List<Integer>> imagesByKey = new HashMap<>();
+    private final List<File> imageFiles;
+    private final Function<String, Collection<String>> keyExtractor;
+
+    public ImageIndex(List<File> imageFiles, Function<String, Collection<String>> keyExtractor) {
+        this.imageFiles = new ArrayList<>(imageFiles);
+        this.keyExtractor = keyExtractor;
+
+        for (int i = 0; i < this.imageFiles.size(); i++) {
+            String imageName = toImageName(this.imageFiles.get(i));
+            for (String key : new HashSet<>(keyExtractor.apply(imageName))) {
+                imagesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    public int size() {
+        return imageFiles.size();
+    }
+
+    // Closest file name length wins, then library order, as the linear scan did
+    public Optional<File> findBestMatch(String cleanPartName) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (String key : keyExtractor.apply(cleanPartName)) {
+            List<Integer> candidates = imagesByKey.get(key);
+            if (candidates == null) continue;
+
+            for (int index : candidates) {
+                int distance = Math.abs(imageFiles.get(index).getName().length() - cleanPartName.length());
+                if (distance < bestDistance || (distance == bestDistance && index < best)) {
+                    best = index;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(imageFiles.get(best));
+    }
+
+    private static String toImageName(File imageFile) {
+        String fileName = imageFile.getName();
+        int dot = fileName.lastIndexOf('.');
+        return (dot > 0 ? fileName.substring(0, dot) : fileName)
+            .toLowerCase()
+            .replace('_', ' ')
+            .replace('-', ' ');
+    }
+}
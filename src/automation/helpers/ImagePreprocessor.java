@@ -0,0 +1,283 @@
+package automation.helpers;
+
+import javax.imageio.*;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+// Downscales and recompresses images before they are uploaded. The images the part list will
+// use are queued on a fork-join pool once it is read, so the work overlaps earlier uploads.
+// Decoding is subsampled to roughly the target size, which bounds memory per image, and
+// results are cached under cache/images by content hash so a rerun only reads hashes.
+// A copy keeps the original's file name and format: JPEGs are recompressed, PNGs stay lossless
+// so line art keeps its edges, and any other format is uploaded as is.
+public class ImagePreprocessor implements Closeable {
+    public static final int DEFAULT_MAX_SIZE = 1600;
+    public static final int DEFAULT_QUALITY = 85;
+    private static final Path CACHE_DIR = Paths.get("cache", "images");
+    // Images already within the size limit are only recompressed when heavier than this
+    private static final long SMALL_FILE_BYTES = 200 * 1024;
+    private static final String KEEP_MARKER = "original";
+    private static final int SOI = 0xFFD8;
+    private static final int APP1 = 0xFFE1;
+    private static final int SOS = 0xFFDA;
+    private static final int EOI = 0xFFD9;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final int maxSize;
+    private final float quality;
+    private final ForkJoinPool pool;
+    private final Map<File, ForkJoinTask<File>> prepared = new ConcurrentHashMap<>();
+    private final LongAdder resized = new LongAdder();
+    private final LongAdder cached = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    static {
+        // Decode straight from memory rather than through temp files
+        ImageIO.setUseCache(false);
+    }
+
+    public ImagePreprocessor(int maxSize, int qualityPercent) {
+        this.maxSize = maxSize;
+        this.quality = Math.max(1, Math.min(qualityPercent, 100)) / 100f;
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public void submitAll(Collection<File> images) {
+        for (File image : images) {
+            prepared.computeIfAbsent(image, f -> pool.submit(() -> process(f)));
+        }
+    }
+
+    // The file to upload in place of the original; waits for it if it is still being processed
+    public File prepare(File original) {
+        ForkJoinTask<File> task = prepared.computeIfAbsent(original, f -> pool.submit(() -> process(f)));
+        return Metrics.time("prepare image", task::join);
+    }
+
+    private File process(File original) {
+        try {
+            long size = original.length();
+            bytesIn.add(size);
+            String key = CheckpointJournal.hashFile(original.getPath()).substring(0, 32)
+                + "_" + maxSize + "_q" + Math.round(quality * 100);
+            Path dir = CACHE_DIR.resolve(key);
+            Path hit = dir.resolve(original.getName());
+            if (Files.exists(hit)) {
+                cached.increment();
+                bytesOut.add(Files.size(hit));
+                return hit.toFile();
+            }
+            if (Files.exists(dir.resolve(KEEP_MARKER))) {
+                return keepOriginal(original, size);
+            }
+
+            File result = Metrics.time("resize image", () -> resize(original, size, dir));
+            if (result == null) {
+                Files.createDirectories(dir);
+                Files.write(dir.resolve(KEEP_MARKER), new byte[0]);
+                return keepOriginal(original, size);
+            }
+            resized.increment();
+            bytesOut.add(result.length());
+            return result;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            bytesOut.add(original.length());
+            System.out.println("⚠️ Uploading " + original.getName() + " as is: " + e.getMessage());
+            return original;
+        }
+    }
+
+    private File keepOriginal(File original, long size) {
+        unchanged.increment();
+        bytesOut.add(size);
+        return original;
+    }
+
+    // Writes the smaller version into dir, or returns null when the original should be sent as is
+    private File resize(File original, long size, Path dir) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                boolean png = format.equals("png");
+                if (!png && !format.equals("jpeg")) return null;
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longSide = Math.max(width, height);
+                if (longSide <= maxSize && size <= SMALL_FILE_BYTES) return null;
+
+                // Only every step-th pixel is decoded, keeping the decoded image at or above the target
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longSide / maxSize);
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                int orientation = png ? 1 : readOrientation(original);
+                BufferedImage decoded = reader.read(0, param);
+
+                // The copy is written without EXIF, so the rotation a viewer would apply is baked in
+                boolean alpha = png && decoded.getColorModel().hasAlpha();
+                BufferedImage scaled = scale(decoded, orientation, alpha);
+                Files.createDirectories(dir);
+                Path temp = Files.createTempFile(dir, "resize", ".tmp");
+                try {
+                    write(scaled, png, temp);
+                    if (Files.size(temp) >= size) return null;
+                    Path target = dir.resolve(original.getName());
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return target.toFile();
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Fits the long side to maxSize, turned upright; always redraws so the writer gets a plain RGB or ARGB raster
+    private BufferedImage scale(BufferedImage source, int orientation, boolean alpha) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        boolean swap = orientation >= 5 && orientation <= 8;
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(w, h));
+        int width = Math.max(1, (int) Math.round((swap ? h : w) * ratio));
+        int height = Math.max(1, (int) Math.round((swap ? w : h) * ratio));
+
+        BufferedImage target = new BufferedImage(width, height,
+            alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!alpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.scale((double) width / (swap ? h : w), (double) height / (swap ? w : h));
+            g.transform(orientationTransform(orientation, w, h));
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // Maps source pixels to their upright position for EXIF orientations 2-8
+    private static AffineTransform orientationTransform(int orientation, int w, int h) {
+        switch (orientation) {
+            case 2: return new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored
+            case 3: return new AffineTransform(-1, 0, 0, -1, w, h);  // upside down
+            case 4: return new AffineTransform(1, 0, 0, -1, 0, h);   // mirrored vertically
+            case 5: return new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6: return new AffineTransform(0, 1, -1, 0, h, 0);   // turned 90 clockwise
+            case 7: return new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            case 8: return new AffineTransform(0, -1, 1, 0, 0, w);   // turned 90 anticlockwise
+            default: return new AffineTransform();
+        }
+    }
+
+    // EXIF Orientation from a JPEG's APP1 segment; 1 (upright) when there is none.
+    // The markers are walked directly since ImageIO metadata rejects EXIF placed before JFIF.
+    private static int readOrientation(File file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readUnsignedShort() != SOI) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == SOS || marker == EOI) return 1;
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) return 1;
+                if (marker == APP1) {
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    int orientation = exifOrientation(data);
+                    if (orientation > 0) return orientation;
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unreadable headers: treat the image as upright
+            return 1;
+        }
+    }
+
+    // "Exif\0\0", a TIFF header, then IFD0 entries of tag, type, count and value
+    private static int exifOrientation(byte[] data) {
+        if (data.length < 14 || data[0] != 'E' || data[1] != 'x' || data[2] != 'i' || data[3] != 'f') return 0;
+        int tiff = 6;
+        boolean little = data[tiff] == 'I';
+        int ifd = tiff + (int) read(data, tiff + 4, 4, little);
+        if (ifd < tiff || ifd + 2 > data.length) return 0;
+        int entries = (int) read(data, ifd, 2, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > data.length) break;
+            if (read(data, entry, 2, little) == ORIENTATION_TAG) {
+                int value = (int) read(data, entry + 8, 2, little);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static long read(byte[] data, int offset, int length, boolean little) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int b = data[offset + (little ? length - 1 - i : i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private void write(BufferedImage image, boolean png, Path file) throws IOException {
+        if (png) {
+            if (!ImageIO.write(image, "png", file.toFile())) {
+                throw new IOException("No PNG writer available");
+            }
+            return;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    public void printSummary() {
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        if (in == 0) return;
+        System.out.printf("Images: %d resized, %d from cache, %d unchanged, %d failed; %.1f MB -> %.1f MB%n",
+            resized.sum(), cached.sum(), unchanged.sum(), failed.sum(), in / 1048576.0, out / 1048576.0);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
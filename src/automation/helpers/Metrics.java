@@ -0,0 +1,275 @@
+package automation.helpers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide step timers and item/retry counters for the task that is running.
+// While a run is open they are served in Prometheus text format on a local port
+// (-Dmetrics.port, default 9464, 0 to disable); when it ends they are written to
+// metrics/<server>_<task>_<stamp>.json with the steps ordered by total time.
+public class Metrics {
+    public static final String PROCESSED = "processed";
+    public static final String SKIPPED = "skipped";
+    public static final String FAILED = "failed";
+
+    private static final String METRICS_DIR = "metrics";
+    private static final int DEFAULT_PORT = 9464;
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Map<String, StepTimer> steps = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> items = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+    private static final LongAdder taskErrors = new LongAdder();
+
+    private static volatile String taskName = "none";
+    private static volatile String serverName = "none";
+    private static volatile long runStart = System.nanoTime();
+    private static HttpServer httpServer;
+
+    // Accumulated time of one named step; all fields are safe to update from any thread
+    private static class StepTimer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+
+    public static synchronized void startRun(String task, String server) {
+        steps.clear();
+        items.clear();
+        retries.clear();
+        taskErrors.reset();
+        taskName = task;
+        serverName = server != null ? server : "none";
+        runStart = System.nanoTime();
+        startHttpServer();
+    }
+
+    // Stops the endpoint and writes the JSON export; returns its path, or null when nothing was recorded
+    public static synchronized Path finishRun() {
+        stopHttpServer();
+        if (steps.isEmpty() && items.isEmpty() && retries.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Object> report = toMap();
+        printSummary(report);
+        try {
+            Path dir = Paths.get(METRICS_DIR);
+            Files.createDirectories(dir);
+            Path file = dir.resolve(sanitize(serverName) + "_" + sanitize(taskName) + "_"
+                + LocalDateTime.now().format(STAMP) + ".json");
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            System.out.println("📈 Metrics saved to " + file);
+            return file;
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not save metrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // A timed block that may throw
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public interface TimedRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    public static <T, E extends Exception> T time(String step, TimedCall<T, E> work) throws E {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            recordStep(step, System.nanoTime() - start);
+        }
+    }
+
+    public static <E extends Exception> void time(String step, TimedRun<E> work) throws E {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            recordStep(step, System.nanoTime() - start);
+        }
+    }
+
+    public static void recordStep(String step, long nanos) {
+        steps.computeIfAbsent(step, s -> new StepTimer()).record(nanos);
+    }
+
+    public static void countItem(String outcome) {
+        items.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+    }
+
+    public static void countRetry(String action) {
+        retries.computeIfAbsent(action, a -> new LongAdder()).increment();
+    }
+
+    public static void countTaskError() {
+        taskErrors.increment();
+    }
+
+    public static Map<String, Object> toMap() {
+        List<Map.Entry<String, StepTimer>> ordered = new ArrayList<>(steps.entrySet());
+        ordered.sort((a, b) -> Long.compare(b.getValue().totalNanos.sum(), a.getValue().totalNanos.sum()));
+        double runSeconds = (System.nanoTime() - runStart) / 1e9;
+
+        List<Map<String, Object>> stepList = new ArrayList<>();
+        for (Map.Entry<String, StepTimer> entry : ordered) {
+            StepTimer timer = entry.getValue();
+            long count = timer.count.sum();
+            double totalSeconds = timer.totalNanos.sum() / 1e9;
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("step", entry.getKey());
+            step.put("count", count);
+            step.put("totalSeconds", round(totalSeconds));
+            step.put("meanMs", round(count == 0 ? 0 : totalSeconds * 1000 / count));
+            step.put("maxMs", round(timer.maxNanos.get() / 1e6));
+            step.put("shareOfRun", round(runSeconds > 0 ? totalSeconds / runSeconds : 0));
+            stepList.add(step);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("task", taskName);
+        report.put("server", serverName);
+        report.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        report.put("runSeconds", round(runSeconds));
+        report.put("items", sums(items));
+        report.put("retries", sums(retries));
+        report.put("taskErrors", taskErrors.sum());
+        report.put("steps", stepList);
+        return report;
+    }
+
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        String task = "task=\"" + escape(taskName) + "\"";
+
+        out.append("# HELP automation_run_seconds Time since the current task started\n");
+        out.append("# TYPE automation_run_seconds gauge\n");
+        out.append("automation_run_seconds{").append(task).append("} ")
+            .append(format((System.nanoTime() - runStart) / 1e9)).append('\n');
+
+        out.append("# HELP automation_step_seconds Time spent in each task step\n");
+        out.append("# TYPE automation_step_seconds summary\n");
+        new TreeMap<>(steps).forEach((step, timer) -> {
+            String labels = "{" + task + ",step=\"" + escape(step) + "\"}";
+            out.append("automation_step_seconds_count").append(labels).append(' ')
+                .append(timer.count.sum()).append('\n');
+            out.append("automation_step_seconds_sum").append(labels).append(' ')
+                .append(format(timer.totalNanos.sum() / 1e9)).append('\n');
+        });
+        out.append("# HELP automation_step_seconds_max Longest single run of each task step\n");
+        out.append("# TYPE automation_step_seconds_max gauge\n");
+        new TreeMap<>(steps).forEach((step, timer) ->
+            out.append("automation_step_seconds_max{").append(task).append(",step=\"").append(escape(step))
+                .append("\"} ").append(format(timer.maxNanos.get() / 1e9)).append('\n'));
+
+        counter(out, "automation_items_total", "Items finished by outcome", task, "outcome", items);
+        counter(out, "automation_retries_total", "Retried actions", task, "action", retries);
+
+        out.append("# HELP automation_task_errors_total Tasks that stopped with an error\n");
+        out.append("# TYPE automation_task_errors_total counter\n");
+        out.append("automation_task_errors_total{").append(task).append("} ").append(taskErrors.sum()).append('\n');
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, String task,
+                                String label, Map<String, LongAdder> values) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        new TreeMap<>(values).forEach((value, adder) ->
+            out.append(name).append('{').append(task).append(',').append(label).append("=\"")
+                .append(escape(value)).append("\"} ").append(adder.sum()).append('\n'));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.println("\n=== Metrics: " + report.get("task") + " (" + report.get("runSeconds") + " s) ===");
+        System.out.println("Items: " + report.get("items") + "  Retries: " + report.get("retries"));
+        System.out.printf("%-32s %8s %10s %9s %9s%n", "Step", "count", "total s", "mean ms", "share");
+        List<Map<String, Object>> stepList = (List<Map<String, Object>>) report.get("steps");
+        for (Map<String, Object> step : stepList.subList(0, Math.min(10, stepList.size()))) {
+            System.out.printf("%-32s %8d %10.1f %9.0f %8.0f%%%n", step.get("step"), step.get("count"),
+                step.get("totalSeconds"), step.get("meanMs"), (Double) step.get("shareOfRun") * 100);
+        }
+    }
+
+    private static void startHttpServer() {
+        int port = Integer.getInteger("metrics.port", DEFAULT_PORT);
+        if (port <= 0 || httpServer != null) return;
+
+        try {
+            HttpServer server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange ->
+                respond(exchange, "text/plain; version=0.0.4", toPrometheus()));
+            server.createContext("/metrics.json", exchange ->
+                respond(exchange, "application/json", new Json().toJson(toMap())));
+            server.start();
+            httpServer = server;
+            System.out.println("📈 Metrics at http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            System.out.println("⚠️ Metrics endpoint not started on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    private static void stopHttpServer() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> values) {
+        Map<String, Long> result = new TreeMap<>();
+        values.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
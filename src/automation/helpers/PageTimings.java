@@ -0,0 +1,172 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The browser's own view of the last page load: Navigation Timing phases, paint
+// timings and Resource Timing totals, read in one async script once the load event
+// has finished. Times are milliseconds from navigation start, so no Selenium overhead
+// is included.
+public class PageTimings {
+    private static final Duration CAPTURE_TIMEOUT = Duration.ofSeconds(30);
+
+    // LCP is only exposed through a buffered PerformanceObserver, so the script waits
+    // for the load event, then gives the observer one task to deliver its entries
+    private static final String CAPTURE_SCRIPT =
+        "var callback = arguments[arguments.length - 1];" +
+        "function collect() {" +
+        "  var nav = performance.getEntriesByType('navigation')[0];" +
+        "  if (!nav) { callback(null); return; }" +
+        "  var result = {" +
+        "    url: location.pathname + location.search," +
+        "    redirect: nav.redirectEnd - nav.redirectStart," +
+        "    dns: nav.domainLookupEnd - nav.domainLookupStart," +
+        "    connect: nav.connectEnd - nav.connectStart," +
+        "    serverWait: nav.responseStart - nav.requestStart," +
+        "    ttfb: nav.responseStart - nav.startTime," +
+        "    download: nav.responseEnd - nav.responseStart," +
+        "    responseEnd: nav.responseEnd - nav.startTime," +
+        "    domInteractive: nav.domInteractive - nav.startTime," +
+        "    domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime," +
+        "    loadEvent: nav.loadEventEnd - nav.startTime," +
+        "    documentTransfer: nav.transferSize || 0," +
+        "    fcp: 0, lcp: 0, resources: 0, resourceTransfer: 0, resourceDecoded: 0," +
+        "    slowestResource: '', slowestResourceTime: 0" +
+        "  };" +
+        "  performance.getEntriesByType('paint').forEach(function(p) {" +
+        "    if (p.name === 'first-contentful-paint') result.fcp = p.startTime;" +
+        "  });" +
+        "  performance.getEntriesByType('resource').forEach(function(r) {" +
+        "    result.resources++;" +
+        "    result.resourceTransfer += r.transferSize || 0;" +
+        "    result.resourceDecoded += r.decodedBodySize || 0;" +
+        "    if (r.duration > result.slowestResourceTime) {" +
+        "      result.slowestResourceTime = r.duration;" +
+        "      result.slowestResource = r.name.split('?')[0].split('/').pop();" +
+        "    }" +
+        "  });" +
+        "  try {" +
+        "    new PerformanceObserver(function(list, observer) {" +
+        "      var entries = list.getEntries();" +
+        "      if (entries.length) result.lcp = entries[entries.length - 1].startTime;" +
+        "      observer.disconnect();" +
+        "    }).observe({ type: 'largest-contentful-paint', buffered: true });" +
+        "  } catch (e) { /* LCP not supported */ }" +
+        "  setTimeout(function() { callback(result); }, 50);" +
+        "}" +
+        "var current = performance.getEntriesByType('navigation')[0];" +
+        "if (current && current.loadEventEnd > 0) { collect(); }" +
+        "else { window.addEventListener('load', function() { setTimeout(collect, 0); }); }";
+
+    private final Map<String, Object> values;
+
+    private PageTimings(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    // Call after a navigation; returns null when the browser has no navigation entry
+    @SuppressWarnings("unchecked")
+    public static PageTimings capture(WebDriver driver) {
+        PageWaits.ensureScriptTimeout(driver, CAPTURE_TIMEOUT);
+        Map<String, Object> raw = (Map<String, Object>)
+            ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+        return raw == null ? null : new PageTimings(raw);
+    }
+
+    public String getUrl() { return String.valueOf(values.get("url")); }
+    public double getTtfb() { return number("ttfb"); }
+    public double getDomContentLoaded() { return number("domContentLoaded"); }
+    public double getLoadEvent() { return number("loadEvent"); }
+    public double getFirstContentfulPaint() { return number("fcp"); }
+    public double getLargestContentfulPaint() { return number("lcp"); }
+    public double getTransferBytes() { return number("documentTransfer") + number("resourceTransfer"); }
+
+    // Time on the wire: redirects, DNS, connection set-up and the response download
+    public double getNetworkTime() {
+        return number("redirect") + number("dns") + number("connect") + number("download");
+    }
+
+    // Time the server spent between receiving the request and sending the first byte
+    public double getBackendTime() {
+        return number("serverWait");
+    }
+
+    // Parsing, scripts, styles and sub-resources after the document arrived
+    public double getFrontEndTime() {
+        return Math.max(0, getLoadEvent() - number("responseEnd"));
+    }
+
+    public String getVerdict() {
+        double network = getNetworkTime();
+        double backend = getBackendTime();
+        double frontEnd = getFrontEndTime();
+        double total = network + backend + frontEnd;
+        if (total <= 0) return "n/a";
+
+        String blame = backend >= network && backend >= frontEnd ? "backend"
+            : network >= frontEnd ? "network" : "front-end rendering";
+        double share = Math.max(backend, Math.max(network, frontEnd)) / total;
+        return String.format("%s (%.0f%% of load)", blame, share * 100);
+    }
+
+    // Flat metric name -> value, for exports
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("url", getUrl());
+        map.put("ttfbMs", round(getTtfb()));
+        map.put("backendMs", round(getBackendTime()));
+        map.put("networkMs", round(getNetworkTime()));
+        map.put("frontEndMs", round(getFrontEndTime()));
+        map.put("domContentLoadedMs", round(getDomContentLoaded()));
+        map.put("loadEventMs", round(getLoadEvent()));
+        map.put("fcpMs", round(getFirstContentfulPaint()));
+        map.put("lcpMs", round(getLargestContentfulPaint()));
+        map.put("resources", (long) number("resources"));
+        map.put("transferBytes", (long) getTransferBytes());
+        map.put("decodedBytes", (long) number("resourceDecoded"));
+        return map;
+    }
+
+    public String formatTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getUrl()).append('\n');
+        row(sb, "Network (DNS/connect/download)", getNetworkTime());
+        row(sb, "Backend (server wait)", getBackendTime());
+        row(sb, "Front-end (parse/render)", getFrontEndTime());
+        row(sb, "Time to first byte", getTtfb());
+        row(sb, "DOMContentLoaded", getDomContentLoaded());
+        row(sb, "Load event", getLoadEvent());
+        row(sb, "First contentful paint", getFirstContentfulPaint());
+        row(sb, "Largest contentful paint", getLargestContentfulPaint());
+        sb.append(String.format("  %-31s %d files, %s (%s decoded)%n", "Resources",
+            (long) number("resources"), formatBytes(getTransferBytes()), formatBytes(number("resourceDecoded"))));
+        if (number("slowestResourceTime") > 0) {
+            sb.append(String.format("  %-31s %s, %.0f ms%n", "Slowest resource",
+                values.get("slowestResource"), number("slowestResourceTime")));
+        }
+        sb.append(String.format("  %-31s %s%n", "Most time spent in", getVerdict()));
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, String label, double millis) {
+        sb.append(String.format("  %-31s %8s%n", label, millis > 0 ? String.format("%.0f ms", millis) : "-"));
+    }
+
+    private static String formatBytes(double bytes) {
+        if (bytes >= 1024 * 1024) return String.format("%.1f MB", bytes / (1024 * 1024));
+        if (bytes >= 1024) return String.format("%.1f KB", bytes / 1024);
+        return String.format("%.0f B", bytes);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    private double number(String key) {
+        Object value = values.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
@@ -0,0 +1,206 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Waits that resolve inside the page as soon as the signal arrives (DOM mutation,
+// XHR/jQuery traffic finishing, a dialog opening) instead of sleeping a fixed time.
+// Each wait is a single async script call; it returns false when the timeout expires.
+public class PageWaits {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(150);
+    private static final long DEFAULT_SCRIPT_TIMEOUT_MS = 30_000;
+    private static final Map<WebDriver, Long> scriptTimeouts = new WeakHashMap<>();
+
+    // Counts started and in-flight XHR/fetch requests and stamps the time of the last DOM mutation
+    private static final String PROBE_SCRIPT =
+        "if (!window.__automationProbe) {" +
+        "  var probe = window.__automationProbe = { pending: 0, started: 0, lastMutation: Date.now() };" +
+        "  var send = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    probe.pending++; probe.started++;" +
+        "    this.addEventListener('loadend', function() {" +
+        "      probe.pending = Math.max(0, probe.pending - 1); probe.lastMutation = Date.now(); });" +
+        "    return send.apply(this, arguments);" +
+        "  };" +
+        "  if (window.fetch) {" +
+        "    var fetch = window.fetch;" +
+        "    window.fetch = function() {" +
+        "      probe.pending++; probe.started++;" +
+        "      return fetch.apply(this, arguments).finally(function() {" +
+        "        probe.pending = Math.max(0, probe.pending - 1); });" +
+        "    };" +
+        "  }" +
+        "  new MutationObserver(function() { probe.lastMutation = Date.now(); })" +
+        "    .observe(document.documentElement, { childList: true, subtree: true, attributes: true });" +
+        "}";
+
+    // Re-checks the predicate on every DOM mutation and on a short timer for non-DOM signals
+    private static final String WAIT_SCRIPT =
+        "var callback = arguments[arguments.length - 1];" +
+        "var predicate = new Function(arguments[0]);" +
+        "var deadline = Date.now() + arguments[1];" +
+        "var args = Array.prototype.slice.call(arguments, 2, arguments.length - 1);" +
+        PROBE_SCRIPT +
+        "var done = false, observer = null, timer = null;" +
+        "function check() {" +
+        "  if (done) return true;" +
+        "  var ok = false;" +
+        "  try { ok = !!predicate.apply(null, args); } catch (e) { ok = false; }" +
+        "  if (ok || Date.now() >= deadline) {" +
+        "    done = true;" +
+        "    if (observer) observer.disconnect();" +
+        "    if (timer) clearInterval(timer);" +
+        "    callback(ok);" +
+        "  }" +
+        "  return done;" +
+        "}" +
+        "if (!check()) {" +
+        "  observer = new MutationObserver(check);" +
+        "  observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true });" +
+        "  timer = setInterval(check, 25);" +
+        "}";
+
+    private static final String AJAX_IDLE =
+        "var p = window.__automationProbe;" +
+        "return (!window.jQuery || jQuery.active === 0) && (!p || p.pending === 0);";
+
+    private static final String DOM_QUIET =
+        "return Date.now() - window.__automationProbe.lastMutation >= arguments[0];";
+
+    private static final String DIALOG_VISIBLE =
+        "return Array.prototype.some.call(document.querySelectorAll('.ui-dialog'), function(d) {" +
+        "  return d.getClientRects().length > 0 && getComputedStyle(d).visibility !== 'hidden'; });";
+
+    private static final String ATTRIBUTE_CHANGED =
+        "var el = arguments[0];" +
+        "return !el.isConnected || el.getAttribute(arguments[1]) !== arguments[2];";
+
+    // Observes a region (document.body when the selector is null or missing), ignoring
+    // mutations inside the ignored element such as the button being clicked
+    private static final String ARM_WATCH =
+        "var root = (arguments[0] && document.querySelector(arguments[0])) || document.body;" +
+        "var ignored = arguments[1] ? document.getElementById(arguments[1]) : null;" +
+        "var watches = window.__automationWatches = window.__automationWatches || {};" +
+        "var token = 'w' + Date.now() + '_' + Math.floor(Math.random() * 1e9);" +
+        "var watch = watches[token] = { changed: false };" +
+        "watch.observer = new MutationObserver(function(records) {" +
+        "  if (records.some(function(r) { return !ignored || !ignored.contains(r.target); })) {" +
+        "    watch.changed = true;" +
+        "  }" +
+        "});" +
+        "watch.observer.observe(root, { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "return token;";
+
+    // A missing watch means the page navigated away, which counts as a change
+    private static final String WATCH_CHANGED =
+        "var w = (window.__automationWatches || {})[arguments[0]];" +
+        "return !w || w.changed;";
+
+    // Remembers how many requests had started; arguments[0] is the token
+    private static final String ARM_REQUESTS =
+        PROBE_SCRIPT +
+        "window.__automationRequestWatch = { token: arguments[0], since: window.__automationProbe.started };";
+
+    // A missing watch means the page navigated, which is itself a round trip to the server
+    private static final String REQUEST_COMPLETED =
+        "var w = window.__automationRequestWatch, p = window.__automationProbe;" +
+        "var idle = (!window.jQuery || jQuery.active === 0) && p.pending === 0;" +
+        "if (!w || w.token !== arguments[0]) return idle && document.readyState === 'complete';" +
+        "return idle && p.started > w.since;";
+
+    private static final String DISARM_WATCH =
+        "var watches = window.__automationWatches || {};" +
+        "var w = watches[arguments[0]];" +
+        "if (w) { w.observer.disconnect(); delete watches[arguments[0]]; }";
+
+    public static boolean waitForAjaxIdle(WebDriver driver, Duration timeout) {
+        return waitForCondition(driver, AJAX_IDLE, timeout);
+    }
+
+    public static boolean waitForDomQuiet(WebDriver driver, Duration quietPeriod, Duration timeout) {
+        return waitForCondition(driver, DOM_QUIET, timeout, quietPeriod.toMillis());
+    }
+
+    // No requests in flight and no DOM changes for a short quiet period
+    public static boolean waitForPageSettled(WebDriver driver, Duration timeout) {
+        long start = System.currentTimeMillis();
+        boolean idle = waitForAjaxIdle(driver, timeout);
+        Duration remaining = timeout.minusMillis(System.currentTimeMillis() - start);
+        return idle && !remaining.isNegative()
+            && waitForDomQuiet(driver, QUIET_PERIOD, remaining);
+    }
+
+    public static boolean waitForDialogOpen(WebDriver driver, Duration timeout) {
+        return waitForCondition(driver, DIALOG_VISIBLE, timeout);
+    }
+
+    public static boolean waitForDialogClosed(WebDriver driver, Duration timeout) {
+        return waitForCondition(driver, DIALOG_VISIBLE.replaceFirst("return ", "return !"), timeout);
+    }
+
+    // Resolves when the attribute differs from oldValue or the element is replaced
+    public static boolean waitForAttributeChange(WebDriver driver, WebElement element,
+                                                 String attribute, String oldValue, Duration timeout) {
+        return waitForCondition(driver, ATTRIBUTE_CHANGED, timeout, element, attribute, oldValue);
+    }
+
+    public static String armMutationWatch(WebDriver driver, String regionSelector, String ignoredId) {
+        return (String) ((JavascriptExecutor) driver).executeScript(ARM_WATCH, regionSelector, ignoredId);
+    }
+
+    // Resolves as soon as the armed region mutates; the watch is removed either way
+    public static boolean waitForMutation(WebDriver driver, String token, Duration timeout) {
+        boolean changed = waitForCondition(driver, WATCH_CHANGED, timeout, token);
+        try {
+            ((JavascriptExecutor) driver).executeScript(DISARM_WATCH, token);
+        } catch (JavascriptException e) {
+            // Page already gone
+        }
+        return changed;
+    }
+
+    // Call before the action whose request waitForRequestCompleted should see
+    public static String armRequestWatch(WebDriver driver) {
+        String token = "r" + System.nanoTime();
+        ((JavascriptExecutor) driver).executeScript(ARM_REQUESTS, token);
+        return token;
+    }
+
+    // Resolves once a request has started since the watch was armed and nothing is in flight
+    public static boolean waitForRequestCompleted(WebDriver driver, String token, Duration timeout) {
+        return waitForCondition(driver, REQUEST_COMPLETED, timeout, token);
+    }
+
+    // predicate is a JS function body; extra args are passed to it as arguments[0..n]
+    public static boolean waitForCondition(WebDriver driver, String predicate,
+                                           Duration timeout, Object... args) {
+        ensureScriptTimeout(driver, timeout);
+
+        Object[] scriptArgs = new Object[args.length + 2];
+        scriptArgs[0] = predicate;
+        scriptArgs[1] = timeout.toMillis();
+        System.arraycopy(args, 0, scriptArgs, 2, args.length);
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, scriptArgs);
+            return Boolean.TRUE.equals(result);
+        } catch (ScriptTimeoutException | JavascriptException e) {
+            return false;
+        }
+    }
+
+    static void ensureScriptTimeout(WebDriver driver, Duration timeout) {
+        long needed = timeout.toMillis() + 2_000;
+        synchronized (scriptTimeouts) {
+            if (needed <= scriptTimeouts.getOrDefault(driver, DEFAULT_SCRIPT_TIMEOUT_MS)) {
+                return;
+            }
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(needed));
+            scriptTimeouts.put(driver, needed);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package automation.helpers;
+
+import org.openqa.selenium.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads every part row of the part list in one script call. Each row is stamped
+// with a stable data-automation-row key so it can be re-located later on demand.
+// Cell values are keyed by their column header, normalised to lowercase letters and digits.
+public class PartListSnapshot {
+    public static final String ROW_KEY_ATTRIBUTE = "data-automation-row";
+
+    // Header keys per table, and a cell's value: its text, a checkbox's state or an icon's label
+    private static final String TABLE_FUNCTIONS =
+        "function headerKeys(row) {" +
+        "  var table = row.closest('table');" +
+        "  var ths = table ? table.querySelectorAll('thead th') : [];" +
+        "  var keys = [];" +
+        "  for (var j = 0; j < ths.length; j++) {" +
+        "    keys.push(ths[j].textContent.toLowerCase().replace(/[^a-z0-9]/g, ''));" +
+        "  }" +
+        "  return keys;" +
+        "}" +
+        "function cellValue(td) {" +
+        "  var box = td.querySelector('input[type=checkbox]');" +
+        "  if (box) return box.checked ? 'yes' : 'no';" +
+        "  var text = td.textContent.trim();" +
+        "  if (!text) {" +
+        "    var img = td.querySelector('img[alt], img[title]');" +
+        "    if (img) text = img.getAttribute('alt') || img.getAttribute('title');" +
+        "  }" +
+        "  return text;" +
+        "}";
+
+    private static final String CAPTURE_SCRIPT =
+        TABLE_FUNCTIONS +
+        "var rows = document.querySelectorAll(arguments[0]);" +
+        "var result = [], table = null, keys = [];" +
+        "for (var i = 0; i < rows.length; i++) {" +
+        "  var row = rows[i];" +
+        "  if (row.closest('table') !== table) { table = row.closest('table'); keys = headerKeys(row); }" +
+        "  var key = row.id || ('r' + i);" +
+        "  row.setAttribute('" + ROW_KEY_ATTRIBUTE + "', key);" +
+        "  var tds = row.getElementsByTagName('td');" +
+        "  var nameCell = tds[2];" +
+        "  var first = nameCell ? nameCell.childNodes[0] : null;" +
+        "  var img = row.querySelector('td.part_photo_dropdown_toggle img');" +
+        "  var cells = {};" +
+        "  for (var c = 0; c < tds.length && c < keys.length; c++) {" +
+        "    if (keys[c] && !(keys[c] in cells)) cells[keys[c]] = cellValue(tds[c]);" +
+        "  }" +
+        "  result.push({" +
+        "    key: key," +
+        "    name: first ? first.textContent.trim() : ''," +
+        "    photoSrc: img ? (img.getAttribute('src') || '') : ''," +
+        "    cells: cells" +
+        "  });" +
+        "}" +
+        "return result;";
+
+    // Returns the cell in the given column whose value matches, or null
+    private static final String FIND_CELL_SCRIPT =
+        TABLE_FUNCTIONS +
+        "var rows = document.querySelectorAll(arguments[0]);" +
+        "for (var i = 0; i < rows.length; i++) {" +
+        "  var column = headerKeys(rows[i]).indexOf(arguments[1]);" +
+        "  var td = column < 0 ? null : rows[i].getElementsByTagName('td')[column];" +
+        "  if (td && cellValue(td) === arguments[2]) return td;" +
+        "}" +
+        "return null;";
+
+    // The part name of a row element, read the same way as in CAPTURE_SCRIPT
+    private static final String ROW_NAME_SCRIPT =
+        "var nameCell = arguments[0].getElementsByTagName('td')[2];" +
+        "var first = nameCell ? nameCell.childNodes[0] : null;" +
+        "return first ? first.textContent.trim() : '';";
+
+    // Only marks a stamped row that still carries the part's name
+    private static final String HIGHLIGHT_SCRIPT =
+        "var rows = document.querySelectorAll(arguments[0]);" +
+        "for (var i = 0; i < rows.length; i++) {" +
+        "  var nameCell = rows[i].getElementsByTagName('td')[2];" +
+        "  var first = nameCell ? nameCell.childNodes[0] : null;" +
+        "  if ((first ? first.textContent.trim() : '') === arguments[2]) {" +
+        "    rows[i].style.border = '3px solid ' + arguments[1];" +
+        "    return;" +
+        "  }" +
+        "}";
+
+    public static class PartRow {
+        private final String key;
+        private final String name;
+        private final String photoSrc;
+        private final Map<String, String> cells;
+
+        public PartRow(String key, String name, String photoSrc) {
+            this(key, name, photoSrc, Collections.emptyMap());
+        }
+
+        public PartRow(String key, String name, String photoSrc, Map<String, String> cells) {
+            this.key = key;
+            this.name = name;
+            this.photoSrc = photoSrc;
+            this.cells = cells;
+        }
+
+        public String getKey() { return key; }
+        public String getName() { return name; }
+        public String getPhotoSrc() { return photoSrc; }
+        public Map<String, String> getCells() { return cells; }
+
+        // Null when the list has no such column
+        public String getCell(String header) {
+            return cells.get(normaliseHeader(header));
+        }
+
+        public String getSelector() {
+            return "[" + ROW_KEY_ATTRIBUTE + "='" + key.replace("'", "\\'") + "']";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<PartRow> capture(WebDriver driver, String rowSelector) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>)
+            ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT, rowSelector);
+
+        List<PartRow> rows = new ArrayList<>(raw.size());
+        for (Map<String, Object> row : raw) {
+            Map<String, String> cells = new HashMap<>();
+            Object rawCells = row.get("cells");
+            if (rawCells instanceof Map) {
+                ((Map<String, Object>) rawCells).forEach((k, v) -> cells.put(k, String.valueOf(v)));
+            }
+            rows.add(new PartRow(
+                String.valueOf(row.get("key")),
+                String.valueOf(row.get("name")),
+                String.valueOf(row.get("photoSrc")),
+                cells));
+        }
+        return rows;
+    }
+
+    public static String normaliseHeader(String header) {
+        return header.toLowerCase().replaceAll("[^a-z0-9]", "");
+    }
+
+    // Finds a row by the value in one of its columns, e.g. the part number
+    public static WebElement locateCell(WebDriver driver, String rowSelector, String header, String value) {
+        WebElement cell = (WebElement) ((JavascriptExecutor) driver).executeScript(
+            FIND_CELL_SCRIPT, rowSelector, normaliseHeader(header), value);
+        if (cell == null) {
+            throw new NoSuchElementException("No part row with " + header + " '" + value + "'");
+        }
+        return cell;
+    }
+
+    // Finds the live row element, re-stamping the list once if the table was re-rendered.
+    // Rows without an id are keyed by position, so the stamped row must still carry the
+    // same part name; otherwise the row is found again by name.
+    public static WebElement locate(WebDriver driver, String rowSelector, PartRow row) {
+        WebElement element = findStamped(driver, row.getSelector(), row.getName());
+        if (element != null) {
+            return element;
+        }
+
+        List<PartRow> current = capture(driver, rowSelector);
+        element = findStamped(driver, row.getSelector(), row.getName());
+        if (element != null) {
+            return element;
+        }
+
+        List<PartRow> sameName = new ArrayList<>();
+        for (PartRow candidate : current) {
+            if (candidate.getName().equals(row.getName())) sameName.add(candidate);
+        }
+        if (sameName.size() > 1) {
+            throw new NoSuchElementException("More than one part row named " + row.getName());
+        }
+        element = sameName.isEmpty() ? null : findStamped(driver, sameName.get(0).getSelector(), row.getName());
+        if (element == null) {
+            throw new NoSuchElementException("Part row no longer on the page: " + row.getName());
+        }
+        return element;
+    }
+
+    private static WebElement findStamped(WebDriver driver, String selector, String name) {
+        for (WebElement element : driver.findElements(By.cssSelector(selector))) {
+            Object actual = ((JavascriptExecutor) driver).executeScript(ROW_NAME_SCRIPT, element);
+            if (name.equals(actual)) return element;
+        }
+        return null;
+    }
+
+    public static void highlight(WebDriver driver, PartRow row, String color) {
+        ((JavascriptExecutor) driver).executeScript(HIGHLIGHT_SCRIPT, row.getSelector(), color, row.getName());
+    }
+}
@@ -0,0 +1,29 @@
+package automation.helpers;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Nearest-rank percentile summaries (p50/p90/p99, max, mean) for timing reports
+public class Percentiles {
+    private static final double[] REPORTED = { 50, 90, 99 };
+
+    public static Map<String, Object> summarise(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (double p : REPORTED) {
+            summary.put("p" + (int) p, percentile(sorted, p));
+        }
+        summary.put("max", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1]);
+        summary.put("mean", Arrays.stream(sorted).average().orElse(0));
+        return summary;
+    }
+
+    // sorted must be in ascending order
+    public static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        return sorted[Math.max(0, (int) Math.ceil(p / 100.0 * sorted.length) - 1)];
+    }
+}
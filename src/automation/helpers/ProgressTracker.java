@@ -5,15 +5,30 @@ import automation.ui.ProgressUI;
 public class ProgressTracker {
     private final ProgressUI progressUI;
     private final boolean progressEnabled;
+    private String currentStep;
+    private long stepStart;
 
     public ProgressTracker(ProgressUI progressUI, boolean progressEnabled) {
         this.progressUI = progressUI;
         this.progressEnabled = progressEnabled;
     }
 
+    // Each message names a step that lasts until the next update; 100 ends the last one
     public void updateProgress(int step, String message) {
+        updateProgress(step, message, message);
+    }
+
+    // For messages that carry counts or names: the metric uses the fixed stepName instead
+    public void updateProgress(int step, String stepName, String message) {
+        long now = System.nanoTime();
+        if (currentStep != null) {
+            Metrics.recordStep(currentStep, now - stepStart);
+        }
+        currentStep = step < 100 ? stepName : null;
+        stepStart = now;
+
         if (progressEnabled) {
             progressUI.updateStepProgress(step, message);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package automation.helpers;
+
+import java.util.*;
+
+// Answers supplied on the command line so tasks can run without any dialogs
+public class TaskInputs {
+    private static boolean batchMode = false;
+    private static final Deque<String> paths = new ArrayDeque<>();
+    private static final Map<String, String> options = new HashMap<>();
+    private static final List<String> errors = new ArrayList<>();
+
+    public static synchronized void enableBatchMode(List<String> inputPaths, Map<String, String> taskOptions) {
+        batchMode = true;
+        paths.clear();
+        paths.addAll(inputPaths);
+        options.clear();
+        options.putAll(taskOptions);
+    }
+
+    public static synchronized boolean isBatchMode() {
+        return batchMode;
+    }
+
+    // Input paths are handed out in the order the task asks for them
+    public static synchronized String nextPath() {
+        return paths.poll();
+    }
+
+    public static synchronized String getOption(String key) {
+        return options.get(key);
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getOption(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.printf("Option '%s' is not a number: %s. Using %d.%n", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static synchronized void reportError(String message) {
+        errors.add(message);
+        System.err.println(message);
+    }
+
+    public static synchronized boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package automation.helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Every header on the DrawingTemplate index with the templates listed under it, read in
+// one pass over the DOM and cached per server, so the selection dialog and the traversal
+// need no further queries while the cache is fresh.
+public class TemplateCatalogue {
+    private static final String CACHE_DIR = "cache";
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(24);
+
+    // Walks headers and template links in document order; a link belongs to the last
+    // header3 before it, matching the preceding-sibling rule the index uses
+    private static final String CAPTURE_SCRIPT =
+        "var headers = [], section = null;" +
+        "var nodes = document.querySelectorAll(" +
+        "  \"div.header2, div.header3, a[href^='/SurveySystem/DrawingBoard/Template/']\");" +
+        "for (var i = 0; i < nodes.length; i++) {" +
+        "  var node = nodes[i];" +
+        "  if (node.tagName === 'A') {" +
+        "    if (!section) continue;" +
+        "    section.templates.push({" +
+        "      href: node.getAttribute('href')," +
+        "      name: node.textContent.replace(/\\s+/g, ' ').trim()," +
+        "      deleted: !!node.querySelector(\"div[class*='drawing_deleted']\")" +
+        "    });" +
+        "  } else {" +
+        "    var header = { title: node.textContent.replace(/\\s+/g, ' ').trim()," +
+        "                   className: node.getAttribute('class'), templates: [] };" +
+        "    headers.push(header);" +
+        "    if (header.className === 'header3') section = header;" +
+        "  }" +
+        "}" +
+        "return headers;";
+
+    private final List<Header> headers;
+    private final Instant fetchedAt;
+
+    public static class Template {
+        private final String href;
+        private final String name;
+        private final boolean deleted;
+
+        Template(String href, String name, boolean deleted) {
+            this.href = href;
+            this.name = name;
+            this.deleted = deleted;
+        }
+
+        public String getHref() { return href; }
+        public String getName() { return name; }
+        public boolean isDeleted() { return deleted; }
+    }
+
+    public static class Header {
+        private final String title;
+        private final String className;
+        private final List<Template> templates;
+
+        Header(String title, String className, List<Template> templates) {
+            this.title = title;
+            this.className = className;
+            this.templates = templates;
+        }
+
+        public String getTitle() { return title; }
+        public List<Template> getTemplates() { return templates; }
+
+        // "Xyz Templates" header2 rows group the headers below them
+        public boolean isGroup() {
+            return title.endsWith("Templates") && "header2".equals(className);
+        }
+    }
+
+    private TemplateCatalogue(List<Header> headers, Instant fetchedAt) {
+        this.headers = Collections.unmodifiableList(headers);
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Call on the DrawingTemplate index
+    @SuppressWarnings("unchecked")
+    public static TemplateCatalogue capture(WebDriver driver) {
+        List<Object> raw = (List<Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return fromList(raw, Instant.now());
+    }
+
+    // The cached catalogue for this server, or null when there is none or it is older than maxAge
+    @SuppressWarnings("unchecked")
+    public static TemplateCatalogue load(String serverName, Duration maxAge) {
+        Path file = cacheFile(serverName);
+        if (!Files.exists(file)) return null;
+
+        try {
+            Map<String, Object> data = new Json().toType(
+                Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Instant fetchedAt = Instant.parse(String.valueOf(data.get("fetchedAt")));
+            if (fetchedAt.plus(maxAge).isBefore(Instant.now())) {
+                System.out.println("Template list cache is older than " + maxAge.toHours() + " h; refreshing");
+                return null;
+            }
+            return fromList((List<Object>) data.get("headers"), fetchedAt);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("⚠️ Ignoring unreadable template cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void save(String serverName) {
+        List<Map<String, Object>> headerList = new ArrayList<>();
+        for (Header header : headers) {
+            List<Map<String, Object>> templateList = new ArrayList<>();
+            for (Template template : header.templates) {
+                Map<String, Object> t = new LinkedHashMap<>();
+                t.put("href", template.href);
+                t.put("name", template.name);
+                t.put("deleted", template.deleted);
+                templateList.add(t);
+            }
+            Map<String, Object> h = new LinkedHashMap<>();
+            h.put("title", header.title);
+            h.put("className", header.className);
+            h.put("templates", templateList);
+            headerList.add(h);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("fetchedAt", fetchedAt.toString());
+        data.put("headers", headerList);
+        try {
+            Path file = cacheFile(serverName);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(data), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not cache template list: " + e.getMessage());
+        }
+    }
+
+    public static void invalidate(String serverName) {
+        try {
+            Files.deleteIfExists(cacheFile(serverName));
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not remove template cache: " + e.getMessage());
+        }
+    }
+
+    public List<Header> getHeaders() { return headers; }
+    public Instant getFetchedAt() { return fetchedAt; }
+
+    public int getTemplateCount() {
+        return headers.stream().mapToInt(h -> h.templates.size()).sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TemplateCatalogue fromList(List<Object> raw, Instant fetchedAt) {
+        List<Header> headers = new ArrayList<>();
+        for (Object item : raw) {
+            Map<String, Object> h = (Map<String, Object>) item;
+            List<Template> templates = new ArrayList<>();
+            for (Object t : (List<Object>) h.get("templates")) {
+                Map<String, Object> template = (Map<String, Object>) t;
+                templates.add(new Template(String.valueOf(template.get("href")),
+                    String.valueOf(template.get("name")), Boolean.TRUE.equals(template.get("deleted"))));
+            }
+            headers.add(new Header(String.valueOf(h.get("title")), (String) h.get("className"), templates));
+        }
+        return new TemplateCatalogue(headers, fetchedAt);
+    }
+
+    private static Path cacheFile(String serverName) {
+        String name = serverName == null ? "default" : serverName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return Paths.get(CACHE_DIR, "templates_" + name + ".json");
+    }
+}
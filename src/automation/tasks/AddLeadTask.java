@@ -4,11 +4,37 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import automation.helpers.PageWaits;
 import automation.ui.ProgressUI;
 import java.time.Duration;
+import java.util.function.ObjLongConsumer;
 import static automation.helpers.ElementHelper.*;
 
-public class AddLeadTask implements AutomationTask {
+public class AddLeadTask extends TaskBase {
+    private static final String LEAD_EDITOR = "#lead_box_editor";
+    private static final int DEFAULT_LEAD_COUNT = 5;
+    private static final Duration SAVE_TIMEOUT = Duration.ofSeconds(30);
+
+    // Server round trips timed by the load test
+    static final String STEP_OPEN_FORM = "open form";
+    static final String STEP_SAVE_CONTACT = "save contact";
+    static final String STEP_SAVE_ADDRESS = "save address";
+    static final String STEP_CONVERT = "convert to real lead";
+
+    // Carries the step a lead failed in, so load-test errors can be attributed
+    static class StepFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final String step;
+
+        StepFailedException(String step, Throwable cause) {
+            super(step + ": " + cause.getMessage(), cause);
+            this.step = step;
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
     
     @Override
     public String getName() {
@@ -20,12 +46,13 @@ public class AddLeadTask implements AutomationTask {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         
         try {
-            progressUI.setMainProgressMax(5); // Will add 5 test leads
+            int leadCount = Math.max(1, getNumber(progressUI, "leads", "Number of leads to add", DEFAULT_LEAD_COUNT));
+            progressUI.setMainProgressMax(leadCount);
             progressUI.setStepProgressMax(100);
             
-            for (int i = 0; i < 5; i++) {
+            for (int i = 0; i < leadCount; i++) {
                 progressUI.updateMainProgress(i);
-                progressUI.updateStatus("Adding lead " + (i+1) + "/5");
+                progressUI.updateStatus("Adding lead " + (i+1) + "/" + leadCount);
                 progressUI.updateStepProgress(0, "Starting new lead");
                 
                 boolean success = submitLeadForm(driver, progressUI, wait);
@@ -40,86 +67,120 @@ public class AddLeadTask implements AutomationTask {
     
     private boolean submitLeadForm(WebDriver driver, ProgressUI progressUI, WebDriverWait wait) {
         try {
-            // === FORM FILLING PROGRESS ===
-            progressUI.updateStepProgress(5, "Starting form submission");
-            
-            wait.until(ExpectedConditions.urlContains("/Home"));
-            
-            // === CLICK ADD NEW LEAD ===
-            progressUI.updateStepProgress(10, "Clicking Add New Lead");
+            createLead(driver, progressUI, wait, (step, millis) -> {});
+            return true;
+        } catch (Exception e) {
+            progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
+            System.out.println("Lead creation failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // The lead flow from the home page; stepTimes receives the latency of each server round trip
+    void createLead(WebDriver driver, ProgressUI progressUI, WebDriverWait wait,
+                    ObjLongConsumer<String> stepTimes) throws Exception {
+        // === FORM FILLING PROGRESS ===
+        progressUI.updateStepProgress(5, "Starting form submission");
+        
+        wait.until(ExpectedConditions.urlContains("/Home"));
+        
+        // === CLICK ADD NEW LEAD ===
+        progressUI.updateStepProgress(10, "Clicking Add New Lead");
+        timed(STEP_OPEN_FORM, stepTimes, () -> {
             WebElement addNewLeadButton = driver.findElement(
                 By.xpath("//a[.//span[normalize-space(text())='Add New Lead']]"));
             addNewLeadButton.click();
-            
-            // === FILL BASIC FIELDS ===
-            progressUI.updateStepProgress(15, "Filling basic fields");
-            enterTextById(wait, "label", "Test lead");
-            selectDropdownByVisibleText(driver, "source_short_name", "Other");
-            selectDropdownByVisibleText(driver, "sector_short_name", "Commercial Install");
-            selectDropdownByVisibleText(driver, "type_short_name", "New Windows / Doors (Replacement)");
-            selectDropdownByVisibleText(driver, "status_short_name", "New");
-            selectDropdownByVisibleText(driver, "method_of_first_contact_short_name", "E-mail");
-            enterTextById(wait, "notes", "This lead was created automatically");
-            driver.findElement(By.tagName("body")).click();
-            
-            // === CREATE NEW CONTACT ===
-            progressUI.updateStepProgress(30, "Creating new contact");
-            clickButtonWithRetry(driver, "coloured_button_new_contact", 3, 2);
-            selectCheckboxOrRadioButton(driver, "customer");
-            selectCheckboxOrRadioButton(driver, "main_contact");
-            selectCheckboxOrRadioButton(driver, "radio_is_human_1");
-            
-            // === FILL CONTACT DETAILS ===
-            progressUI.updateStepProgress(40, "Filling contact details");
-            selectDropdownByVisibleText(driver, "human_title", "Mrs");
-            enterTextById(wait, "human_forename", "Jane");
-            enterTextById(wait, "human_surname", "Doe");
-            enterTextById(wait, "contact_notes", "This is not a real person");
-            selectMultiCheckboxDropdown(driver, new String[]{"quantity_surveyor", "landlord"});
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("label")));
+        });
+        
+        // === FILL BASIC FIELDS ===
+        progressUI.updateStepProgress(15, "Filling basic fields");
+        enterTextById(wait, "label", "Test lead");
+        selectDropdownByVisibleText(driver, "source_short_name", "Other");
+        selectDropdownByVisibleText(driver, "sector_short_name", "Commercial Install");
+        selectDropdownByVisibleText(driver, "type_short_name", "New Windows / Doors (Replacement)");
+        selectDropdownByVisibleText(driver, "status_short_name", "New");
+        selectDropdownByVisibleText(driver, "method_of_first_contact_short_name", "E-mail");
+        enterTextById(wait, "notes", "This lead was created automatically");
+        driver.findElement(By.tagName("body")).click();
+        
+        // === CREATE NEW CONTACT ===
+        progressUI.updateStepProgress(30, "Creating new contact");
+        if (!clickButtonWithRetry(driver, "coloured_button_new_contact", LEAD_EDITOR, 3, 2)) {
+            throw new IllegalStateException("New contact form did not open");
+        }
+        selectCheckboxOrRadioButton(driver, "customer");
+        selectCheckboxOrRadioButton(driver, "main_contact");
+        selectCheckboxOrRadioButton(driver, "radio_is_human_1");
+        
+        // === FILL CONTACT DETAILS ===
+        progressUI.updateStepProgress(40, "Filling contact details");
+        selectDropdownByVisibleText(driver, "human_title", "Mrs");
+        enterTextById(wait, "human_forename", "Jane");
+        enterTextById(wait, "human_surname", "Doe");
+        enterTextById(wait, "contact_notes", "This is not a real person");
+        selectMultiCheckboxDropdown(driver, new String[]{"quantity_surveyor", "landlord"});
 
-            try {
-                WebElement contactTypeDropdown = wait.until(
-                    ExpectedConditions.visibilityOfElementLocated(
-                        By.cssSelector("#lead_box_editor div[style='width: 340px;'] select")));
-                new Select(contactTypeDropdown).selectByVisibleText("Personal");
-            } catch (Exception e) {
-                System.out.println("Contact type dropdown not found, continuing anyway");
-            }
+        try {
+            WebElement contactTypeDropdown = wait.until(
+                ExpectedConditions.visibilityOfElementLocated(
+                    By.cssSelector("#lead_box_editor div[style='width: 340px;'] select")));
+            new Select(contactTypeDropdown).selectByVisibleText("Personal");
+        } catch (Exception e) {
+            System.out.println("Contact type dropdown not found, continuing anyway");
+        }
 
-            // === ADD PHONE NUMBER ===
-            progressUI.updateStepProgress(60, "Adding phone number");
-            enterTextByClass(wait, "dynamic_contact_input", "000-000-0000");
-            
-            // === SAVE CONTACT ===
-            progressUI.updateStepProgress(70, "Saving contact");
-            clickButtonById(driver, "coloured_button_create_box");
-            
-            // === ADD ADDRESS ===
-            progressUI.updateStepProgress(80, "Adding address");
-            clickButtonWithRetry(driver, "coloured_button_new_address", 3, 2);
-            
-            // === FILL ADDRESS ===
-            progressUI.updateStepProgress(85, "Filling address");
-            enterTextById(wait, "address_line_1", "123 Fake Street");
-            enterTextById(wait, "address_line_2", "Suite 100");
-            enterTextById(wait, "address_line_3", "Business Park");
-            enterTextById(wait, "city", "Faketown");
-            enterTextById(wait, "county", "Fakeshire");
-            enterTextById(wait, "postcode", "FK12 3AB");
-            
-            // === SAVE ADDRESS ===
-            progressUI.updateStepProgress(95, "Saving address");
-            clickButtonById(driver, "coloured_button_create_box");
-            clickButtonById(driver, "convert_to_real_lead_button");
-            
-            // === COMPLETION ===
-            progressUI.updateStepProgress(100, "✅ Lead created successfully");
-            return true;
+        // === ADD PHONE NUMBER ===
+        progressUI.updateStepProgress(60, "Adding phone number");
+        enterTextByClass(wait, "dynamic_contact_input", "000-000-0000");
+        
+        // === SAVE CONTACT ===
+        progressUI.updateStepProgress(70, "Saving contact");
+        timed(STEP_SAVE_CONTACT, stepTimes, () -> clickAndAwaitServer(driver, "coloured_button_create_box"));
+        
+        // === ADD ADDRESS ===
+        progressUI.updateStepProgress(80, "Adding address");
+        if (!clickButtonWithRetry(driver, "coloured_button_new_address", LEAD_EDITOR, 3, 2)) {
+            throw new IllegalStateException("New address form did not open");
+        }
+        
+        // === FILL ADDRESS ===
+        progressUI.updateStepProgress(85, "Filling address");
+        enterTextById(wait, "address_line_1", "123 Fake Street");
+        enterTextById(wait, "address_line_2", "Suite 100");
+        enterTextById(wait, "address_line_3", "Business Park");
+        enterTextById(wait, "city", "Faketown");
+        enterTextById(wait, "county", "Fakeshire");
+        enterTextById(wait, "postcode", "FK12 3AB");
+        
+        // === SAVE ADDRESS ===
+        progressUI.updateStepProgress(95, "Saving address");
+        timed(STEP_SAVE_ADDRESS, stepTimes, () -> clickAndAwaitServer(driver, "coloured_button_create_box"));
+        timed(STEP_CONVERT, stepTimes, () -> clickAndAwaitServer(driver, "convert_to_real_lead_button"));
+        
+        // === COMPLETION ===
+        progressUI.updateStepProgress(100, "✅ Lead created successfully");
+    }
 
+    private void timed(String name, ObjLongConsumer<String> stepTimes, Step step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
         } catch (Exception e) {
-            progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
-            System.out.println("Lead creation failed: " + e.getMessage());
-            return false;
+            throw new StepFailedException(name, e);
+        }
+        stepTimes.accept(name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // A save counts as done once the click has sent a request and nothing is left in flight.
+    // A missing button or a click the page ignores fails the step instead of timing nothing.
+    private void clickAndAwaitServer(WebDriver driver, String buttonId) {
+        WebElement button = new WebDriverWait(driver, SAVE_TIMEOUT)
+            .until(ExpectedConditions.elementToBeClickable(By.id(buttonId)));
+        String watch = PageWaits.armRequestWatch(driver);
+        button.click();
+        if (!PageWaits.waitForRequestCompleted(driver, watch, SAVE_TIMEOUT)) {
+            throw new TimeoutException("No server response to " + buttonId + " within " + SAVE_TIMEOUT.getSeconds() + " s");
         }
     }
-}
\ No newline at end of file
+}
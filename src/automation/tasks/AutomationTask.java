@@ -2,9 +2,13 @@ package automation.tasks;
 
 import org.openqa.selenium.WebDriver;
 
+import automation.ServerManager;
 import automation.ui.ProgressUI;
 
 public interface AutomationTask {
     String getName();
     void execute(WebDriver driver, String baseUrl, ProgressUI progressUI);
+
+    // Tasks that open extra sessions need the server credentials
+    default void setServer(ServerManager.Server server) {}
 }
\ No newline at end of file
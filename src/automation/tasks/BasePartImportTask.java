@@ -0,0 +1,537 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.*;
+import automation.SessionPool;
+import automation.helpers.CheckpointJournal;
+import automation.helpers.CsvReader;
+import automation.helpers.ElementHelper;
+import automation.helpers.HttpFormSubmitter;
+import automation.helpers.TaskInputs;
+import automation.helpers.Metrics;
+import automation.helpers.PageWaits;
+import automation.helpers.PartListSnapshot;
+import automation.helpers.PartListSnapshot.PartRow;
+import automation.ui.ProgressUI;
+import automation.ui.ShardProgressUI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public abstract class BasePartImportTask<T> extends TaskBase {
+    private static final int MAX_SESSIONS = 8;
+    private static final int DEFAULT_HTTP_REQUESTS = 8;
+    private static final int MAX_HTTP_REQUESTS = 32;
+    private static final String[] IMPORT_MODES = { "Add all rows", "Sync changes only" };
+    private static final String[] IMPORT_ENGINES = { "Browser", "Direct HTTP" };
+    private static final Pattern CURRENCY = Pattern.compile("[£$€,\\s]");
+    private static final Set<String> TRUE_VALUES = Set.of("yes", "y", "true", "1", "✓", "✔");
+    private static final Set<String> FALSE_VALUES = Set.of("no", "n", "false", "0", "✗", "");
+
+    private CheckpointJournal journal;
+    // Part number -> server row, only set in sync mode
+    private Map<String, PartRow> serverParts;
+    private final Set<String> missingColumns = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+
+    protected abstract String getCsvType();
+    protected abstract String getUrlSegment();
+    protected abstract T createItem(String[] fields);
+    protected abstract String getPartNo(T item);
+    protected abstract void importItem(WebDriver driver, WebDriverWait wait, T item) throws Exception;
+    // Element id -> value for the create dialog; selects by visible text, checkboxes true/false
+    protected abstract Map<String, String> getFormFields(T item);
+
+    // Column header -> CSV value for every field sync compares against the part list
+    protected Map<String, String> getSyncFields(T item) {
+        return Collections.emptyMap();
+    }
+
+    // Called with the open edit dialog and the headers of the columns that differ
+    protected abstract void updateItem(WebDriver driver, WebDriverWait wait, T item, Set<String> changedColumns)
+            throws Exception;
+
+    @Override
+    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        initializeProgress(progressUI, 1); // Will be updated when we know item count
+
+        try {
+            progressUI.updateStatus("Selecting CSV file...");
+            String csvPath = getFile(progressUI, getCsvType());
+            if (csvPath == null) {
+                progressUI.showCancellation();
+                return;
+            }
+
+            progressUI.updateStatus("Reading CSV...");
+            int itemCount = CsvReader.countRecords(csvPath, 1);
+            boolean direct = getChoice(progressUI, "engine", "Import engine", IMPORT_ENGINES, 0) == 1;
+            int sessions = direct ? 1 : getSessionCount(progressUI, itemCount);
+            int requests = direct ? getRequestCount(progressUI) : 0;
+            serverParts = null;
+            created.set(0);
+            updated.set(0);
+            unchanged.set(0);
+            if (getChoice(progressUI, "mode", "Import mode", IMPORT_MODES, 0) == 1) {
+                progressUI.updateStatus("Reading server part list...");
+                serverParts = loadServerParts(driver, baseUrl);
+            }
+
+            progressUI.updateStatus("Importing items...");
+            progressUI.setMainProgressMax(itemCount);
+            List<String> failures = new ArrayList<>();
+            journal = openJournal(progressUI, CheckpointJournal.hashFile(csvPath));
+            
+            // Rows are parsed as sessions ask for them, so row 1 is imported
+            // while the rest of the file is still on disk
+            try (Stream<String[]> rows = CsvReader.stream(csvPath, fields -> fields, 1)) {
+                ItemSource<T> source = new ItemSource<>(rows.iterator(), this::createItem);
+                if (direct) {
+                    failures.addAll(performDirectImport(source, requests, driver, baseUrl, progressUI));
+                } else {
+                    failures.addAll(sessions > 1
+                        ? performShardedImport(source, sessions, driver, baseUrl, progressUI)
+                        : performImport(source, driver, baseUrl, progressUI));
+                }
+                failures.addAll(0, source.getRowErrors());
+            } finally {
+                journal.close();
+            }
+
+            reportFailures(failures);
+            if (serverParts != null) {
+                reportSync();
+            }
+            complete(progressUI, failures.isEmpty()
+                ? "Import completed"
+                : "Import completed with " + failures.size() + " failures");
+        } catch (Exception e) {
+            handleError(progressUI, e);
+        }
+    }
+
+    protected String getPartListPath() {
+        return "/PricingAndConfig/PartList/" + getUrlSegment();
+    }
+
+    protected void openPartList(WebDriver driver, WebDriverWait wait, String baseUrl) {
+        driver.get(baseUrl + getPartListPath());
+    }
+
+    protected String getCreateSubmitId() {
+        return "part_dialog_submit_new";
+    }
+
+    protected void openCreateDialog(WebDriver driver, WebDriverWait wait) {
+        ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
+        wait.until(ExpectedConditions.elementToBeClickable(By.id("add_part_button"))).click();
+        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(getCreateSubmitId())));
+    }
+
+    protected String getPartRowSelector() {
+        return "tr.main_part_row:not(.part_photo_row)";
+    }
+
+    protected String getPartNoColumn() {
+        return "Part No";
+    }
+
+    protected String getEditSubmitId() {
+        return "part_dialog_submit";
+    }
+
+    protected void openEditDialog(WebDriver driver, WebDriverWait wait, String partNo) {
+        ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
+        WebElement cell = PartListSnapshot.locateCell(driver, getPartRowSelector(), getPartNoColumn(), partNo);
+        ((JavascriptExecutor)driver).executeScript(
+            "arguments[0].scrollIntoView({behavior:'instant',block:'center'}); arguments[0].click();", cell);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(getEditSubmitId())));
+    }
+
+    // One script call for the whole dialog; any field that could not be set fails the item
+    protected void fillDialog(WebDriver driver, Map<String, String> fieldValues) {
+        Map<String, String> failed = ElementHelper.fillForm(driver, fieldValues);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Could not fill " + failed);
+        }
+    }
+
+    protected void submitEdit(WebDriver driver, WebDriverWait wait) {
+        WebElement submitButton = driver.findElement(By.id(getEditSubmitId()));
+        ((JavascriptExecutor)driver).executeScript("arguments[0].click();", submitButton);
+        wait.until(ExpectedConditions.invisibilityOfElementLocated(By.id(getEditSubmitId())));
+        PageWaits.waitForAjaxIdle(driver, PageWaits.DEFAULT_TIMEOUT);
+    }
+
+    protected void closeOpenDialog(WebDriver driver) {
+        try {
+            WebElement closeButton = driver.findElement(By.cssSelector(".ui-dialog-titlebar-close"));
+            ((JavascriptExecutor)driver).executeScript("arguments[0].click();", closeButton);
+        } catch (Exception ex) {
+            // Ignore if we can't close it
+        }
+    }
+
+    private int getSessionCount(ProgressUI progressUI, int itemCount) {
+        if (server == null || itemCount < 2) {
+            return 1;
+        }
+        int requested = getNumber(progressUI, "sessions", "Number of browser sessions", 1);
+        return Math.max(1, Math.min(Math.min(requested, MAX_SESSIONS), itemCount));
+    }
+
+    private int getRequestCount(ProgressUI progressUI) {
+        int requested = getNumber(progressUI, "requests", "Parallel HTTP requests", DEFAULT_HTTP_REQUESTS);
+        return Math.max(1, Math.min(requested, MAX_HTTP_REQUESTS));
+    }
+
+    // Imports items from the shared source until it is empty; returns failures
+    private List<String> performImport(ItemSource<T> source, WebDriver driver,
+                                       String baseUrl, ProgressUI progressUI) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        List<String> failures = new ArrayList<>();
+
+        openPartList(driver, wait, baseUrl);
+
+        int processed = 0;
+        T item;
+        while ((item = source.next()) != null) {
+            String partNo = getPartNo(item);
+            progressUI.updateMainProgress(processed);
+            processed++;
+
+            if (!isUpToDate(item, partNo, progressUI)) {
+                processItem(driver, wait, item, partNo, progressUI, failures);
+            }
+        }
+        progressUI.updateMainProgress(processed);
+        return failures;
+    }
+
+    // Creates are posted over HTTP with the browser's cookies, a bounded number at a time.
+    // Edits, and any part whose post fails, go through the browser dialog instead.
+    private List<String> performDirectImport(ItemSource<T> source, int requests, WebDriver driver,
+                                             String baseUrl, ProgressUI progressUI)
+            throws InterruptedException {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        openPartList(driver, wait, baseUrl);
+
+        HttpFormSubmitter submitter;
+        try {
+            openCreateDialog(driver, wait);
+            submitter = HttpFormSubmitter.fromDriver(driver, getCreateSubmitId());
+        } finally {
+            closeOpenDialog(driver);
+        }
+        if (submitter == null) {
+            System.out.println("⚠️ Part dialog has no form with an action to post to; importing through the browser");
+            return performImport(source, driver, baseUrl, progressUI);
+        }
+
+        // Batch runs can name text that a successful HTML response contains (--option successMarker=...)
+        submitter.setSuccessMarker(TaskInputs.getOption("successMarker"));
+        progressUI.updateStatus("Posting parts (" + requests + " at a time)...");
+        System.out.println("Posting parts to " + submitter.getSpec().getAction());
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<T> fallback = Collections.synchronizedList(new ArrayList<>());
+        Semaphore inFlight = new Semaphore(requests);
+        AtomicInteger processed = new AtomicInteger();
+
+        T item;
+        while ((item = source.next()) != null) {
+            T current = item;
+            String partNo = getPartNo(current);
+            progressUI.updateMainProgress(processed.get());
+
+            if (isUpToDate(current, partNo, progressUI)) {
+                processed.incrementAndGet();
+                continue;
+            }
+            if (findChanges(current, partNo) != null) {
+                processItem(driver, wait, current, partNo, progressUI, failures); // Edits stay in the browser
+                processed.incrementAndGet();
+                continue;
+            }
+
+            inFlight.acquire();
+            long postStart = System.nanoTime();
+            CompletableFuture<Void> post;
+            try {
+                post = submitter.submitAsync(getFormFields(current));
+            } catch (RuntimeException e) {
+                // Thrown before anything was sent, so the browser can safely create the part
+                post = CompletableFuture.failedFuture(new HttpFormSubmitter.SubmitException(e.getMessage(), true));
+            }
+            post.whenComplete((result, error) -> {
+                Metrics.recordStep("http post", System.nanoTime() - postStart);
+                if (error == null) {
+                    created.incrementAndGet();
+                    Metrics.countItem(Metrics.PROCESSED);
+                    recordOutcome(partNo, CheckpointJournal.DONE, "http");
+                    progressUI.updateStepProgress(100, "✅ Posted " + partNo);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    // Only a definite refusal (4xx, or never connected) is retried in the browser.
+                    // Anything else may have created the part, so it is journaled FAILED and reported.
+                    if (!(cause instanceof HttpFormSubmitter.SubmitException)
+                            || !((HttpFormSubmitter.SubmitException) cause).isRejected()) {
+                        System.out.println("❌ Unconfirmed HTTP post for " + partNo + ": " + cause.getMessage());
+                        Metrics.countItem(Metrics.FAILED);
+                        recordOutcome(partNo, CheckpointJournal.FAILED, "unconfirmed: " + cause.getMessage());
+                        failures.add(partNo + ": unconfirmed, check the part list before rerunning (" + cause.getMessage() + ")");
+                    } else {
+                        System.out.println("⚠️ HTTP post failed for " + partNo + ": " + cause.getMessage());
+                        Metrics.countRetry("http post");
+                        fallback.add(current);
+                    }
+                }
+                processed.incrementAndGet();
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(requests); // Wait for the last posts to land
+
+        if (!fallback.isEmpty()) {
+            progressUI.updateStatus("Retrying " + fallback.size() + " parts in the browser...");
+            openPartList(driver, wait, baseUrl);
+            for (T retry : fallback) {
+                processItem(driver, wait, retry, getPartNo(retry), progressUI, failures);
+            }
+        }
+        progressUI.updateMainProgress(processed.get());
+        return new ArrayList<>(failures);
+    }
+
+    // True when there is nothing to do: already journaled, or identical on the server.
+    // Sync mode diffs against the live list instead of the journal, so a rerun picks up new edits.
+    private boolean isUpToDate(T item, String partNo, ProgressUI progressUI) {
+        if (serverParts == null) {
+            if (!journal.isCompleted(partNo)) return false;
+            Metrics.countItem(Metrics.SKIPPED);
+            progressUI.updateStepProgress(100, "⏭️ Already imported " + partNo);
+            return true;
+        }
+
+        Set<String> changes = findChanges(item, partNo);
+        if (changes == null || !changes.isEmpty()) return false;
+        unchanged.incrementAndGet();
+        Metrics.countItem(Metrics.SKIPPED);
+        progressUI.updateStepProgress(100, "⏭️ Up to date " + partNo);
+        return true;
+    }
+
+    // Creates the part, or edits it when sync found it on the server with changes
+    private void processItem(WebDriver driver, WebDriverWait wait, T item, String partNo,
+                             ProgressUI progressUI, List<String> failures) {
+        Set<String> changes = findChanges(item, partNo);
+        progressUI.updateStepProgress(0, "Processing " + partNo);
+
+        try {
+            if (changes == null) {
+                Metrics.time("create part", () -> importItem(driver, wait, item));
+                created.incrementAndGet();
+                Metrics.countItem(Metrics.PROCESSED);
+                recordOutcome(partNo, CheckpointJournal.DONE, null);
+                progressUI.updateStepProgress(100, "✅ Part added");
+            } else {
+                Metrics.time("edit part", () -> {
+                    openEditDialog(driver, wait, partNo);
+                    updateItem(driver, wait, item, changes);
+                });
+                updated.incrementAndGet();
+                Metrics.countItem(Metrics.PROCESSED);
+                recordOutcome(partNo, CheckpointJournal.DONE, "updated " + changes);
+                progressUI.updateStepProgress(100, "✅ Updated " + String.join(", ", changes));
+            }
+        } catch (Exception e) {
+            Metrics.countItem(Metrics.FAILED);
+            recordOutcome(partNo, CheckpointJournal.FAILED, e.getMessage());
+            progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
+            System.out.println("Error adding part " + partNo + ": " + e.getMessage());
+            failures.add(partNo + ": " + e.getMessage());
+            closeOpenDialog(driver);
+        }
+    }
+
+    // Every session pulls from one source, so a slow or dead session never strands a block of rows
+    private List<String> performShardedImport(ItemSource<T> source, int sessions, WebDriver driver,
+                                              String baseUrl, ProgressUI progressUI)
+            throws InterruptedException {
+        AtomicInteger completed = new AtomicInteger();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+
+        progressUI.updateStatus("Importing with " + sessions + " browser sessions...");
+        for (int s = 0; s < sessions; s++) {
+            int sessionNumber = s + 1;
+            executor.submit(() -> {
+                ProgressUI shardProgress = new ShardProgressUI(progressUI, completed, sessionNumber);
+                WebDriver sessionDriver = null;
+                try {
+                    if (sessionNumber == 1) {
+                        sessionDriver = driver;
+                    } else {
+                        shardProgress.updateStepProgress(0, "Logging in");
+                        sessionDriver = SessionPool.getInstance().acquire(server);
+                    }
+                    failures.addAll(performImport(source, sessionDriver, baseUrl, shardProgress));
+                } catch (Exception e) {
+                    System.out.println("Session " + sessionNumber + " stopped: " + e.getMessage());
+                    failures.add("Session " + sessionNumber + ": " + e.getMessage());
+                } finally {
+                    if (sessionDriver != null && sessionDriver != driver) {
+                        SessionPool.getInstance().release(server, sessionDriver);
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        // Anything still unread was stranded because every session died
+        T item;
+        while ((item = source.next()) != null) {
+            failures.add(getPartNo(item) + ": not imported (no session available)");
+        }
+        return new ArrayList<>(failures);
+    }
+
+    // Thread-safe cursor over the parsed rows; a malformed row is reported, not fatal
+    private static class ItemSource<T> {
+        private final Iterator<String[]> rows;
+        private final Function<String[], T> mapper;
+        private final List<String> rowErrors = new ArrayList<>();
+        private int recordNumber = 0;
+        private boolean exhausted = false;
+
+        ItemSource(Iterator<String[]> rows, Function<String[], T> mapper) {
+            this.rows = rows;
+            this.mapper = mapper;
+        }
+
+        synchronized T next() {
+            while (!exhausted) {
+                String[] fields;
+                try {
+                    if (!rows.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    fields = rows.next();
+                    recordNumber++;
+                } catch (UncheckedIOException e) {
+                    rowErrors.add("CSV read failed after record " + recordNumber + ": " + e.getMessage());
+                    exhausted = true;
+                    break;
+                }
+                
+                try {
+                    return mapper.apply(fields);
+                } catch (RuntimeException e) {
+                    rowErrors.add("Record " + recordNumber + ": malformed (" + e + ")");
+                }
+            }
+            return null;
+        }
+
+        synchronized List<String> getRowErrors() {
+            return new ArrayList<>(rowErrors);
+        }
+    }
+
+    // One bulk read of the current list, keyed by part number
+    private Map<String, PartRow> loadServerParts(WebDriver driver, String baseUrl) {
+        openPartList(driver, new WebDriverWait(driver, Duration.ofSeconds(20)), baseUrl);
+        PageWaits.waitForPageSettled(driver, PageWaits.DEFAULT_TIMEOUT);
+
+        List<PartRow> rows = Metrics.time("read part list", () -> PartListSnapshot.capture(driver, getPartRowSelector()));
+        Map<String, PartRow> parts = new HashMap<>();
+        for (PartRow row : rows) {
+            String partNo = row.getCell(getPartNoColumn());
+            if (partNo == null) {
+                throw new IllegalStateException(
+                    "Part list has no '" + getPartNoColumn() + "' column; cannot sync");
+            }
+            parts.put(partNo, row);
+        }
+        System.out.println("Server has " + parts.size() + " parts in " + getPartListPath());
+        return parts;
+    }
+
+    // Columns that differ from the server's row, or null when the server lacks the part
+    private Set<String> findChanges(T item, String partNo) {
+        PartRow existing = serverParts == null ? null : serverParts.get(partNo);
+        if (existing == null) return null;
+
+        Set<String> changes = new LinkedHashSet<>();
+        for (Map.Entry<String, String> field : getSyncFields(item).entrySet()) {
+            String serverValue = existing.getCell(field.getKey());
+            if (serverValue == null) {
+                if (missingColumns.add(field.getKey())) {
+                    System.out.println("⚠️ Part list has no '" + field.getKey()
+                        + "' column; changes to it are not detected");
+                }
+                continue;
+            }
+            // The snapshot reads checkbox cells as yes/no, so those columns compare as flags
+            boolean flag = serverValue.equalsIgnoreCase("yes") || serverValue.equalsIgnoreCase("no");
+            if (!normaliseValue(field.getValue(), flag).equals(normaliseValue(serverValue, flag))) {
+                changes.add(field.getKey());
+            }
+        }
+        return changes;
+    }
+
+    // "£1,200.50" equals "1200.5", "Yes" equals a ticked box, and case is ignored
+    private static String normaliseValue(String value, boolean flag) {
+        String text = value == null ? "" : value.trim().toLowerCase();
+        // Checked before the number parse so a flag written as 1/0 still matches yes/no
+        if (flag && TRUE_VALUES.contains(text)) return "yes";
+        if (flag && FALSE_VALUES.contains(text)) return "no";
+        try {
+            return new BigDecimal(CURRENCY.matcher(text).replaceAll("")).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            // Not a number
+        }
+        if (TRUE_VALUES.contains(text)) return "yes";
+        if (FALSE_VALUES.contains(text)) return "no";
+        return text.replaceAll("\\s+", " ");
+    }
+
+    private void reportSync() {
+        System.out.println("\n=== Sync Summary ===");
+        System.out.println("Created: " + created.get());
+        System.out.println("Updated: " + updated.get());
+        System.out.println("Unchanged: " + unchanged.get());
+    }
+
+    // A journal write failure must not abort the import; the item is just redone next run
+    private void recordOutcome(String partNo, String status, String detail) {
+        try {
+            journal.record(partNo, status, detail);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write checkpoint for " + partNo + ": " + e.getMessage());
+        }
+    }
+
+    private void reportFailures(List<String> failures) {
+        if (failures.isEmpty()) return;
+
+        System.out.println("\n=== Import Failures (" + failures.size() + ") ===");
+        for (String failure : failures) {
+            System.out.println(failure);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import automation.helpers.CheckpointJournal;
+import automation.helpers.Metrics;
+import automation.helpers.TaskInputs;
+import automation.helpers.TemplateCatalogue;
+import automation.helpers.TemplateCatalogue.Header;
+import automation.ui.AutomationUI;
+import automation.ui.ProgressUI;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.IntStream;
+
+// Shared plumbing for tasks that walk DrawingBoard templates: the cached template list,
+// header selection, and a resumable loop that opens each template directly by its href.
+public abstract class BaseTemplateTask extends TaskBase {
+
+    // Does the work on one template; the page is already loaded. Throw to mark it failed.
+    protected abstract void processTemplate(WebDriver driver, String href, String label,
+                                            ProgressUI progressUI) throws Exception;
+
+    protected boolean navigateToTemplates(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        try {
+            progressUI.updateStepProgress(5, "Navigating to templates");
+
+            if (!driver.getCurrentUrl().contains("/Home")) {
+                driver.get(baseUrl + "/Home");
+            }
+
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+            wait.until(ExpectedConditions.presenceOfElementLocated(
+                By.xpath("//a[contains(@href,'DrawingBoardConfig')]")));
+
+            progressUI.updateStepProgress(10, "Opening drawing board config");
+            WebElement drawingBoardLink = wait.until(ExpectedConditions.elementToBeClickable(
+                By.xpath("//a[contains(@href,'/PricingAndConfig/DrawingBoardConfig')]")));
+            drawingBoardLink.click();
+
+            wait.until(ExpectedConditions.urlContains("DrawingBoardConfig"));
+
+            progressUI.updateStepProgress(15, "Opening template tab");
+            WebElement templateTab = wait.until(ExpectedConditions.elementToBeClickable(
+                By.xpath("//a[contains(@class,'tab_inactive') and contains(@href,'DrawingTemplate')]")));
+            templateTab.click();
+
+            wait.until(ExpectedConditions.urlContains("DrawingTemplate"));
+            return true;
+        } catch (Exception e) {
+            progressUI.updateStepProgress(100, "❌ Navigation failed");
+            return false;
+        }
+    }
+
+    // A fresh cached list skips the index page; otherwise one script reads it and refreshes the cache.
+    // Batch runs can pass --option refresh=true to force a re-read.
+    protected TemplateCatalogue loadCatalogue(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        String serverName = server != null ? server.getName() : null;
+        if (!Boolean.parseBoolean(TaskInputs.getOption("refresh"))) {
+            TemplateCatalogue cached = TemplateCatalogue.load(serverName, TemplateCatalogue.DEFAULT_MAX_AGE);
+            if (cached != null) {
+                progressUI.updateStepProgress(15, "Using template list from " + cached.getFetchedAt());
+                return cached;
+            }
+        }
+
+        if (!navigateToTemplates(driver, baseUrl, progressUI)) {
+            return null;
+        }
+        progressUI.updateStepProgress(20, "Reading template list");
+        TemplateCatalogue catalogue = TemplateCatalogue.capture(driver);
+        catalogue.save(serverName);
+        System.out.println("Read " + catalogue.getTemplateCount() + " templates under "
+            + catalogue.getHeaders().size() + " headers");
+        return catalogue;
+    }
+
+    protected List<Header> getSelectableHeaders(TemplateCatalogue catalogue) {
+        List<Header> filteredHeaders = new ArrayList<>();
+        for (Header header : catalogue.getHeaders()) {
+            String text = header.getTitle();
+            if (!text.isEmpty() && !text.equals("Drawing Template") && !text.contains("Main organisation")) {
+                filteredHeaders.add(header);
+            }
+        }
+        return filteredHeaders;
+    }
+
+    protected int[] selectHeaders(List<Header> filteredHeaders, String message) {
+        if (TaskInputs.isBatchMode()) {
+            return selectHeadersFromOption(filteredHeaders);
+        }
+
+        List<String> titles = new ArrayList<>();
+        List<Boolean> groups = new ArrayList<>();
+        for (Header header : filteredHeaders) {
+            titles.add(header.getTitle());
+            groups.add(header.isGroup());
+        }
+        return AutomationUI.showMultiOptionDialog(
+            null,
+            message,
+            "Template Selection",
+            titles,
+            groups
+        );
+    }
+
+    // Batch runs pass --option templates=all or a comma-separated list of header names
+    private int[] selectHeadersFromOption(List<Header> filteredHeaders) {
+        String option = TaskInputs.getOption("templates");
+        if (option == null || option.trim().isEmpty()) {
+            return new int[0];
+        }
+
+        List<String> wanted = Arrays.asList(option.trim().toLowerCase().split("\\s*,\\s*"));
+        boolean all = wanted.contains("all");
+        return IntStream.range(0, filteredHeaders.size())
+            .filter(i -> {
+                Header header = filteredHeaders.get(i);
+                return !header.isGroup() && (all || wanted.contains(header.getTitle().toLowerCase()));
+            })
+            .toArray();
+    }
+
+    // href -> "Header / Template" for every live template under the selected headers
+    protected Map<String, String> collectTemplates(List<Header> filteredHeaders, int[] selectedIndices) {
+        Map<String, String> templates = new LinkedHashMap<>();
+        for (int index : selectedIndices) {
+            if (index >= filteredHeaders.size()) continue;
+            Header header = filteredHeaders.get(index);
+            for (TemplateCatalogue.Template template : header.getTemplates()) {
+                if (template.isDeleted()) continue;
+                String name = template.getName().isEmpty() ? "template" : template.getName();
+                templates.putIfAbsent(template.getHref(), header.getTitle() + " / " + name);
+            }
+        }
+        return templates;
+    }
+
+    // Each template is opened directly by its href, so the index is never reloaded between templates.
+    // The same input on the same server resumes where the last run stopped.
+    protected void processTemplates(WebDriver driver, String baseUrl, Map<String, String> templates,
+            String inputHash, ProgressUI progressUI) throws IOException {
+        progressUI.setMainProgressMax(templates.size());
+        progressUI.updateStatus("Processing " + templates.size() + " templates");
+
+        boolean failed = false;
+        try (CheckpointJournal journal = openJournal(progressUI, inputHash)) {
+            int done = 0;
+            for (Map.Entry<String, String> template : templates.entrySet()) {
+                String href = template.getKey();
+                progressUI.updateMainProgress(done++);
+
+                if (journal.isCompleted(href)) {
+                    Metrics.countItem(Metrics.SKIPPED);
+                    progressUI.updateStepProgress(100, "⏭️ Already done " + template.getValue());
+                    continue;
+                }
+
+                progressUI.updateStepProgress(0, "Opening " + template.getValue());
+                try {
+                    driver.get(baseUrl + href);
+                    processTemplate(driver, href, template.getValue(), progressUI);
+                    Metrics.countItem(Metrics.PROCESSED);
+                    journal.record(href, CheckpointJournal.DONE, template.getValue());
+                } catch (Exception e) {
+                    failed = true;
+                    Metrics.countItem(Metrics.FAILED);
+                    journal.record(href, CheckpointJournal.FAILED, e.getMessage());
+                    System.out.println("Skipping template " + template.getValue() + ": " + e.getMessage());
+                }
+            }
+            progressUI.updateMainProgress(templates.size());
+        }
+
+        // A failure may mean the cached list is out of date, so the next run re-reads it
+        if (failed) {
+            TemplateCatalogue.invalidate(server != null ? server.getName() : null);
+        }
+    }
+}
@@ -2,23 +2,46 @@ package automation.tasks;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
+import automation.helpers.CheckpointJournal;
+import automation.helpers.ImageIndex;
+import automation.helpers.ImagePreprocessor;
+import automation.helpers.Metrics;
+import automation.helpers.PageWaits;
+import automation.helpers.PartListSnapshot;
+import automation.helpers.PartListSnapshot.PartRow;
+import automation.helpers.TaskInputs;
 import automation.ui.AutomationUI;
 import automation.ui.ProgressUI;
 
 import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
+import java.util.regex.Pattern;
 import javax.swing.*;
 
 public abstract class BaseUploadImagesTask extends TaskBase {
+    protected static final Pattern MILLIMETRES = Pattern.compile("\\d+\\.?\\d*mm");
+    protected static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+    protected static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofSeconds(15);
+    private static final String THUMBNAIL_REPLACED =
+        "var row = arguments[0];" +
+        "return !row.isConnected || " +
+        "!row.querySelector(\"td.part_photo_dropdown_toggle img[src*='camera.svg']\");";
+
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected ProgressUI progressUI;
     protected Set<String> excludedWords = Collections.emptySet();
+    protected ImageIndex imageIndex;
+    protected ImagePreprocessor imagePreprocessor;
+    protected CheckpointJournal journal;
 
-    protected abstract List<WebElement> getPartRows();
-    protected abstract boolean isMatch(String imageName, String partName);
+    // Keys an image or cleaned part name is matched on; a match needs one shared key
+    protected abstract Collection<String> getMatchKeys(String name);
 
+    protected String getPartRowSelector() { return "tr.main_part_row:not(.part_photo_row)"; }
     protected String getTabXpath() { return null; }
     protected String getUrlSegment() { return null; }
     protected String getPartTypeName() { return this.getClass().getSimpleName(); }
@@ -44,13 +67,35 @@ public abstract class BaseUploadImagesTask extends TaskBase {
                 throw new RuntimeException("No image files found in: " + folderPath);
             }
             
+            progressUI.updateStatus("Indexing " + imageFiles.size() + " images");
+            imageIndex = new ImageIndex(imageFiles, this::getMatchKeys);
+            
+            int maxSize = getNumber(progressUI, "maxImageSize",
+                "Largest image side in pixels (0 uploads originals)", ImagePreprocessor.DEFAULT_MAX_SIZE);
+            if (maxSize > 0) {
+                imagePreprocessor = new ImagePreprocessor(maxSize,
+                    TaskInputs.getInt("imageQuality", ImagePreprocessor.DEFAULT_QUALITY));
+            }
+            
             navigateToPartList(baseUrl);
-            List<WebElement> partRows = getPartRows();
+            List<PartRow> partRows = getPartRows();
             
-            processParts(partRows, imageFiles);
+            // Same folder on the same server resumes the previous run
+            try (CheckpointJournal journal = openJournal(progressUI,
+                    CheckpointJournal.hashText(new File(folderPath).getAbsolutePath()))) {
+                this.journal = journal;
+                submitMatchedImages(partRows);
+                processParts(partRows);
+            }
             complete(progressUI, "Image upload completed");
         } catch (Exception e) {
             handleError(progressUI, e);
+        } finally {
+            if (imagePreprocessor != null) {
+                imagePreprocessor.printSummary();
+                imagePreprocessor.close();
+                imagePreprocessor = null;
+            }
         }
     }
     
@@ -89,8 +134,26 @@ public abstract class BaseUploadImagesTask extends TaskBase {
             "Either implement legacyUINavigation() or provide getUrlSegment()");
     }
     
-    protected void processParts(List<WebElement> partRows, List<File> imageFiles) 
-            throws InterruptedException {
+    // One script call for the whole list; rows are only re-located when an upload needs them
+    protected List<PartRow> getPartRows() {
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(getPartRowSelector())));
+        return PartListSnapshot.capture(driver, getPartRowSelector());
+    }
+    
+    // Resizing starts now and runs alongside the uploads, in upload order. Only images that a
+    // part still waiting for one will upload are queued, not everything in the folder.
+    protected void submitMatchedImages(List<PartRow> partRows) {
+        if (imagePreprocessor == null) return;
+        Set<File> wanted = new LinkedHashSet<>();
+        for (PartRow row : partRows) {
+            if (journal != null && journal.isCompleted(row.getName())) continue;
+            if (hasExistingImage(row.getPhotoSrc())) continue;
+            findMatchingImage(cleanName(row.getName())).ifPresent(wanted::add);
+        }
+        imagePreprocessor.submitAll(wanted);
+    }
+    
+    protected void processParts(List<PartRow> partRows) {
         progressUI.setMainProgressMax(partRows.size());
         progressUI.setStepProgressMax(100);
         progressUI.updateStatus("Processing " + partRows.size() + " parts");
@@ -98,21 +161,24 @@ public abstract class BaseUploadImagesTask extends TaskBase {
         int processed = 0, skipped = 0, failed = 0;
         
         for (int i = 0; i < partRows.size(); i++) {
-            WebElement row = partRows.get(i);
+            PartRow row = partRows.get(i);
             progressUI.updateMainProgress(i);
             progressUI.updateStepProgress(0, "Starting part " + (i+1));
             
             try {
-                if (processPartRow(row, imageFiles)) {
+                if (processPartRow(row)) {
                     processed++;
+                    Metrics.countItem(Metrics.PROCESSED);
                 } else {
                     skipped++;
+                    Metrics.countItem(Metrics.SKIPPED);
                 }
             } catch (Exception e) {
                 failed++;
+                Metrics.countItem(Metrics.FAILED);
+                recordOutcome(row.getName(), CheckpointJournal.FAILED, e.getMessage());
                 progressUI.updateStepProgress(100, "❌ Failed");
             }
-            Thread.sleep(50);
         }
         
         System.out.println("\n=== Results ===");
@@ -121,31 +187,44 @@ public abstract class BaseUploadImagesTask extends TaskBase {
         System.out.println("Failed: " + failed);
     }
     
-    protected boolean processPartRow(WebElement partRow, List<File> imageFiles) 
-            throws Exception {
+    protected boolean processPartRow(PartRow partRow) throws Exception {
+        if (journal != null && journal.isCompleted(partRow.getName())) {
+            progressUI.updateStepProgress(100, "⏭️ Already uploaded");
+            return false;
+        }
+        
         // Check for existing image
         progressUI.updateStepProgress(10, "Checking existing image");
-        if (hasExistingImage(partRow)) {
+        if (hasExistingImage(partRow.getPhotoSrc())) {
             progressUI.updateStepProgress(100, "⏭️ Skipped (has image)");
             return false;
         }
         
-        // Get and clean part name
-        String partName = getPartName(partRow);
+        // Clean part name
+        String partName = partRow.getName();
         String cleanPartName = cleanName(partName);
         
         // Find matching image
         progressUI.updateStepProgress(30, "Matching image");
-        Optional<File> matchingImage = findMatchingImage(cleanPartName, imageFiles);
+        Optional<File> matchingImage = Metrics.time("match image", () -> findMatchingImage(cleanPartName));
         if (matchingImage.isEmpty()) {
             progressUI.updateStepProgress(100, "⏭️ No match");
             highlightRow(partRow, "yellow");
             return false;
         }
         
+        File uploadFile;
+        if (imagePreprocessor != null) {
+            progressUI.updateStepProgress(50, "Preparing image");
+            uploadFile = imagePreprocessor.prepare(matchingImage.get());
+        } else {
+            uploadFile = matchingImage.get();
+        }
+        
         // Upload image
         progressUI.updateStepProgress(60, "Uploading image");
-        uploadImage(partRow, matchingImage.get());
+        Metrics.time("upload image", () -> uploadImage(partRow, uploadFile));
+        recordOutcome(partName, CheckpointJournal.DONE, matchingImage.get().getName());
         highlightRow(partRow, "green");
         
         progressUI.updateStepProgress(100, "✅ Uploaded");
@@ -153,67 +232,35 @@ public abstract class BaseUploadImagesTask extends TaskBase {
     }
     
     // Original helper methods preserved:
-    protected boolean hasExistingImage(WebElement partRow) {
-        try {
-            WebElement img = partRow.findElement(
-                By.cssSelector("td.part_photo_dropdown_toggle img"));
-            String src = img.getDomAttribute("src");
-            return !src.contains("camera.svg") && 
-                  (src.contains("Thumbnail") || src.matches(".*\\.(jpg|jpeg|png)$"));
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
-    protected String getPartName(WebElement partRow) {
-        WebElement nameCell = partRow.findElements(By.tagName("td")).get(2);
-        return ((JavascriptExecutor)driver).executeScript(
-            "return arguments[0].childNodes[0].textContent.trim();", nameCell).toString();
+    protected boolean hasExistingImage(String src) {
+        return src != null && !src.isEmpty() && !src.contains("camera.svg") && 
+              (src.contains("Thumbnail") || src.matches(".*\\.(jpg|jpeg|png)$"));
     }
     
     protected String cleanName(String name) {
-        return name.toLowerCase()
-            .replaceAll("\\d+\\.?\\d*mm", "")
-            .replaceAll("[^a-z0-9]", " ")
-            .replaceAll("\\s+", " ")
-            .trim();
+        String cleaned = MILLIMETRES.matcher(name.toLowerCase()).replaceAll("");
+        cleaned = NON_ALPHANUMERIC.matcher(cleaned).replaceAll(" ");
+        return WHITESPACE.matcher(cleaned).replaceAll(" ").trim();
     }
     
-    protected Optional<File> findMatchingImage(String cleanPartName, List<File> imageFiles) {
-        List<File> potentialMatches = new ArrayList<>();
-        
-        for (File imageFile : imageFiles) {
-            String imageName = imageFile.getName()
-                .substring(0, imageFile.getName().lastIndexOf('.'))
-                .toLowerCase()
-                .replaceAll("[_\\-]", " ");
-            
-            if (isMatch(imageName, cleanPartName)) {
-                potentialMatches.add(imageFile);
-            }
-        }
-        
-        if (!potentialMatches.isEmpty()) {
-            potentialMatches.sort((f1, f2) -> 
-                Integer.compare(
-                    Math.abs(f1.getName().length() - cleanPartName.length()),
-                    Math.abs(f2.getName().length() - cleanPartName.length())
-                ));
-            return Optional.of(potentialMatches.get(0));
-        }
-        
-        return Optional.empty();
+    protected Optional<File> findMatchingImage(String cleanPartName) {
+        return imageIndex.findBestMatch(cleanPartName);
     }
     
-    protected void uploadImage(WebElement partRow, File imageFile) throws Exception {
+    protected void uploadImage(PartRow partRow, File imageFile) throws Exception {
         try {
-            attemptUpload(partRow, imageFile, false);
+            attemptUpload(locateRow(partRow), imageFile, false);
         } catch (StaleElementReferenceException | ElementNotInteractableException e) {
             System.out.println("⚠️ Retrying with scroll...");
-            attemptUpload(partRow, imageFile, true);
+            Metrics.countRetry("upload");
+            attemptUpload(locateRow(partRow), imageFile, true);
         }
     }
     
+    protected WebElement locateRow(PartRow partRow) {
+        return PartListSnapshot.locate(driver, getPartRowSelector(), partRow);
+    }
+    
     private void attemptUpload(WebElement partRow, File imageFile, boolean forceScroll) 
             throws Exception {
         WebElement cameraIcon = partRow.findElement(
@@ -221,13 +268,11 @@ public abstract class BaseUploadImagesTask extends TaskBase {
         
         if (forceScroll) {
             ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView({behavior:'smooth',block:'center'});", 
+                "arguments[0].scrollIntoView({behavior:'instant',block:'center'});", 
                 cameraIcon);
-            Thread.sleep(300);
         }
         
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", cameraIcon);
-        Thread.sleep(500);
         
         WebElement fileInput = wait.until(
             ExpectedConditions.presenceOfElementLocated(
@@ -235,19 +280,34 @@ public abstract class BaseUploadImagesTask extends TaskBase {
         
         if (forceScroll) {
             ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView({behavior:'smooth',block:'center'});", 
+                "arguments[0].scrollIntoView({behavior:'instant',block:'center'});", 
                 fileInput);
         }
         
         ((JavascriptExecutor) driver).executeScript(
             "arguments[0].value = '';", fileInput);
         fileInput.sendKeys(imageFile.getAbsolutePath());
-        Thread.sleep(1000);
+        
+        // Done once the row's camera placeholder is replaced by the thumbnail; otherwise the
+        // part must not be journaled DONE, or every later run would skip it
+        if (!PageWaits.waitForCondition(driver, THUMBNAIL_REPLACED, UPLOAD_TIMEOUT, partRow)) {
+            throw new TimeoutException("Thumbnail did not update for " + imageFile.getName()
+                + " within " + UPLOAD_TIMEOUT.getSeconds() + " s");
+        }
+        PageWaits.waitForAjaxIdle(driver, UPLOAD_TIMEOUT);
     }
     
-    protected void highlightRow(WebElement row, String color) {
-        ((JavascriptExecutor) driver).executeScript(
-            "arguments[0].style.border = '3px solid " + color + "';", row);
+    protected void recordOutcome(String partName, String status, String detail) {
+        if (journal == null) return;
+        try {
+            journal.record(partName, status, detail);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write checkpoint for " + partName + ": " + e.getMessage());
+        }
+    }
+    
+    protected void highlightRow(PartRow row, String color) {
+        PartListSnapshot.highlight(driver, row, color);
     }
     
     protected void handleError(Exception e) {
@@ -0,0 +1,252 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import automation.SessionPool;
+import automation.helpers.CsvWriter;
+import automation.helpers.DrawingProperties;
+import automation.helpers.DrawingProperties.Property;
+import automation.helpers.DrawingSettings;
+import automation.helpers.Metrics;
+import automation.helpers.TemplateCatalogue;
+import automation.helpers.TemplateCatalogue.Header;
+import automation.ui.ProgressUI;
+import automation.ui.ShardProgressUI;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Writes every selected template's settings to a CSV with the columns of a schema file
+// (drawing_settings.csv by default). One script reads all sections of a template; sessions
+// share one queue, and rows are written in template order as soon as they are contiguous.
+public class DrawingSettingsExportTask extends BaseTemplateTask {
+    private static final int MAX_SESSIONS = 8;
+    private static final String DEFAULT_SCHEMA = "drawing_settings.csv";
+    private static final String EXPORT_DIR = "exports";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(20);
+
+    private DrawingSettings schema;
+    private final Set<String> schemaKeys = new HashSet<>();
+    private final Set<String> schemaSections = new HashSet<>();
+    private final Set<String> unknownSections = Collections.synchronizedSet(new TreeSet<>());
+    private final Set<String> unknownProperties = Collections.synchronizedSet(new TreeSet<>());
+    private final Map<String, Integer> positions = new HashMap<>();
+    private OrderedRows rows;
+
+    @Override
+    public String getName() {
+        return "Export Drawing Settings";
+    }
+
+    @Override
+    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        try {
+            progressUI.updateStatus("Initializing drawing settings export");
+            progressUI.setMainProgressMax(1);
+            progressUI.setStepProgressMax(100);
+
+            String schemaPath = getFile(progressUI, "Column Schema CSV");
+            if (schemaPath == null && Files.exists(Paths.get(DEFAULT_SCHEMA))) {
+                schemaPath = DEFAULT_SCHEMA;
+            }
+            if (schemaPath == null) {
+                progressUI.showCancellation();
+                return;
+            }
+            schema = DrawingSettings.load(schemaPath);
+            schemaKeys.clear();
+            schema.getColumns().forEach(c -> schemaKeys.add(c.getSection() + " | " + c.getProperty()));
+            schemaSections.clear();
+            schemaSections.addAll(schema.getSections());
+            unknownProperties.clear();
+            unknownSections.clear();
+
+            TemplateCatalogue catalogue = loadCatalogue(driver, baseUrl, progressUI);
+            if (catalogue == null) {
+                return;
+            }
+            List<Header> headers = getSelectableHeaders(catalogue);
+            int[] selectedIndices = selectHeaders(headers, "Select templates to export:");
+            if (selectedIndices == null || selectedIndices.length == 0) {
+                progressUI.updateStepProgress(100, "⏭️ No templates selected");
+                return;
+            }
+
+            List<TemplateCatalogue.Template> templates = collectTemplateList(headers, selectedIndices);
+            if (templates.isEmpty()) {
+                progressUI.updateStepProgress(100, "⏭️ No templates under the selected headers");
+                return;
+            }
+
+            int requested = getNumber(progressUI, "sessions", "Number of browser sessions", 1);
+            int sessions = Math.max(1, Math.min(Math.min(requested, MAX_SESSIONS), templates.size()));
+
+            Path output = Paths.get(EXPORT_DIR, "drawing_settings_" + sanitize(server != null ? server.getName() : null)
+                + "_" + LocalDateTime.now().format(STAMP) + ".csv");
+            List<String> failures = export(templates, sessions, output, driver, baseUrl, progressUI);
+
+            if (!unknownSections.isEmpty()) {
+                System.out.println("⚠️ Sections on the server with no columns in the schema (not exported): " + unknownSections);
+            }
+            if (!unknownProperties.isEmpty()) {
+                System.out.println("⚠️ Properties on the server with no column in the schema: " + unknownProperties);
+            }
+            failures.forEach(f -> System.out.println("❌ " + f));
+            System.out.println("📈 Drawing settings exported to " + output);
+            complete(progressUI, "Exported " + (templates.size() - failures.size()) + " templates to " + output
+                + (failures.isEmpty() ? "" : " (" + failures.size() + " failed)"));
+        } catch (Exception e) {
+            handleError(progressUI, e);
+        }
+    }
+
+    // Templates are written in catalogue order, each once
+    private List<TemplateCatalogue.Template> collectTemplateList(List<Header> headers, int[] selectedIndices) {
+        Map<String, TemplateCatalogue.Template> templates = new LinkedHashMap<>();
+        for (int index : selectedIndices) {
+            if (index >= headers.size()) continue;
+            for (TemplateCatalogue.Template template : headers.get(index).getTemplates()) {
+                if (!template.isDeleted()) templates.putIfAbsent(template.getHref(), template);
+            }
+        }
+        return new ArrayList<>(templates.values());
+    }
+
+    private List<String> export(List<TemplateCatalogue.Template> templates, int sessions, Path output,
+                                WebDriver driver, String baseUrl, ProgressUI progressUI)
+            throws IOException, InterruptedException {
+        AtomicInteger nextTemplate = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+
+        progressUI.setMainProgressMax(templates.size());
+        progressUI.updateStatus("Exporting " + templates.size() + " templates with " + sessions + " sessions...");
+
+        positions.clear();
+        for (int i = 0; i < templates.size(); i++) positions.put(templates.get(i).getHref(), i);
+
+        try (CsvWriter csv = CsvWriter.create(output)) {
+            rows = new OrderedRows(csv);
+            csv.writeRecord(schema.getHeader().toArray(new String[0]));
+
+            for (int s = 0; s < sessions; s++) {
+                int sessionNumber = s + 1;
+                executor.submit(() -> {
+                    ProgressUI shardProgress = new ShardProgressUI(progressUI, completed, sessionNumber);
+                    WebDriver sessionDriver = null;
+                    try {
+                        if (sessionNumber == 1) {
+                            sessionDriver = driver;
+                        } else {
+                            shardProgress.updateStepProgress(0, "Logging in");
+                            sessionDriver = SessionPool.getInstance().acquire(server);
+                        }
+
+                        int done = 0;
+                        int index;
+                        while ((index = nextTemplate.getAndIncrement()) < templates.size()) {
+                            TemplateCatalogue.Template template = templates.get(index);
+                            try {
+                                shardProgress.updateStepProgress(0, "Reading " + template.getName());
+                                sessionDriver.get(baseUrl + template.getHref());
+                                processTemplate(sessionDriver, template.getHref(), template.getName(), shardProgress);
+                                Metrics.countItem(Metrics.PROCESSED);
+                            } catch (Exception e) {
+                                Metrics.countItem(Metrics.FAILED);
+                                failures.add(template.getName() + ": " + e.getMessage());
+                                rows.put(index, null);
+                            }
+                            shardProgress.updateMainProgress(++done);
+                        }
+                    } catch (Exception e) {
+                        System.out.println("Session " + sessionNumber + " stopped: " + e.getMessage());
+                        failures.add("Session " + sessionNumber + ": " + e.getMessage());
+                    } finally {
+                        if (sessionDriver != null && sessionDriver != driver) {
+                            SessionPool.getInstance().release(server, sessionDriver);
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            rows.finish();
+        }
+
+        // Anything left in the queue was stranded because every session died
+        for (int i = nextTemplate.get(); i < templates.size(); i++) {
+            failures.add(templates.get(i).getName() + ": not exported (no session available)");
+        }
+        return new ArrayList<>(failures);
+    }
+
+    // Reads the loaded template into its row; sessions call this for each template they take
+    @Override
+    protected void processTemplate(WebDriver driver, String href, String label, ProgressUI progressUI) {
+        rows.put(positions.get(href), readTemplate(driver, label));
+    }
+
+    private String[] readTemplate(WebDriver driver, String label) {
+        new WebDriverWait(driver, LOAD_TIMEOUT).until(
+            ExpectedConditions.presenceOfElementLocated(By.cssSelector("span.tree-text")));
+
+        // Sections outside the schema are only listed, not opened, so they cost no extra clicks
+        for (String section : DrawingProperties.listSections(driver)) {
+            if (!schemaSections.contains(section)) unknownSections.add(section);
+        }
+        Map<String, Map<String, Property>> values = DrawingProperties.read(driver, schema.getSections());
+        values.forEach((section, properties) -> properties.keySet().forEach(property -> {
+            String key = section + " | " + property;
+            if (!schemaKeys.contains(key)) unknownProperties.add(key);
+        }));
+        return schema.toRecord(label, values);
+    }
+
+    // Holds rows that finish early until every row before them is written, so the file is
+    // always in template order and only the out-of-order window stays in memory
+    private static class OrderedRows {
+        private final CsvWriter csv;
+        private final Map<Integer, String[]> pending = new HashMap<>();
+        private int nextIndex = 0;
+        private IOException error;
+
+        OrderedRows(CsvWriter csv) {
+            this.csv = csv;
+        }
+
+        // A null record marks a failed template so later rows are not held back
+        synchronized void put(int index, String[] record) {
+            pending.put(index, record);
+            try {
+                while (pending.containsKey(nextIndex)) {
+                    String[] next = pending.remove(nextIndex++);
+                    if (next != null) csv.writeRecord(next);
+                }
+                csv.flush();
+            } catch (IOException e) {
+                if (error == null) error = e;
+            }
+        }
+
+        synchronized void finish() throws IOException {
+            if (error != null) throw error;
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value == null ? "default" : value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,222 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import automation.helpers.CheckpointJournal;
+import automation.helpers.DrawingProperties;
+import automation.helpers.DrawingProperties.Property;
+import automation.helpers.DrawingSettings;
+import automation.helpers.DrawingSettings.Column;
+import automation.helpers.DrawingSettings.Row;
+import automation.helpers.PageWaits;
+import automation.helpers.ProgressTracker;
+import automation.helpers.TemplateCatalogue;
+import automation.helpers.TemplateCatalogue.Header;
+import automation.ui.ProgressUI;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes drawing_settings.csv onto DrawingBoard templates. Each template's property tables
+// are read in one script, compared with its row, and only the cells that differ are written.
+public class DrawingSettingsTask extends BaseTemplateTask {
+    private static final String[] APPLY_MODES = {
+        "Match rows to templates by drawing title",
+        "Apply one row to every selected template"
+    };
+    private static final String[] LABEL_CHOICES = {
+        "Keep each template's own drawing label",
+        "Copy the row's drawing label too"
+    };
+    private static final Duration SAVE_TIMEOUT = Duration.ofSeconds(20);
+
+    private DrawingSettings settings;
+    private List<String> sections;
+    private boolean skipIdentity;
+    private final Map<String, Row> rowsByHref = new HashMap<>();
+    private final AtomicInteger cellsWritten = new AtomicInteger();
+    private final AtomicInteger cellsUnchanged = new AtomicInteger();
+
+    @Override
+    public String getName() {
+        return "Apply Drawing Settings";
+    }
+
+    @Override
+    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        try {
+            progressUI.updateStatus("Initializing drawing settings update");
+            progressUI.setMainProgressMax(1);
+            progressUI.setStepProgressMax(100);
+
+            String csvPath = getFile(progressUI, "Drawing Settings CSV");
+            if (csvPath == null) {
+                progressUI.showCancellation();
+                return;
+            }
+            settings = DrawingSettings.load(csvPath);
+            if (settings.getRows().isEmpty()) {
+                progressUI.updateStepProgress(100, "⏭️ No rows in " + csvPath);
+                return;
+            }
+
+            int mode = getChoice(progressUI, "mode", "How should rows be applied?", APPLY_MODES, 0);
+            int rowNumber = mode == 1
+                ? Math.max(1, Math.min(getNumber(progressUI, "row", "Row to apply (1 = first drawing)", 1),
+                    settings.getRows().size()))
+                : 0;
+            // One row's label on every template would rename them all and break title matching later;
+            // batch runs pass --option label=copy to write it anyway
+            skipIdentity = mode == 1
+                && getChoice(progressUI, "label", "Drawing label", LABEL_CHOICES, 0) == 0;
+            sections = selectSections(getText(progressUI, "sections",
+                "Sections to apply (comma separated, or all)", "all"));
+            if (sections.isEmpty()) {
+                progressUI.updateStepProgress(100, "⏭️ None of those sections are in the file");
+                return;
+            }
+
+            TemplateCatalogue catalogue = loadCatalogue(driver, baseUrl, progressUI);
+            if (catalogue == null) {
+                return;
+            }
+            List<Header> headers = getSelectableHeaders(catalogue);
+            int[] selectedIndices = selectHeaders(headers, "Select templates to apply settings to:");
+            if (selectedIndices == null || selectedIndices.length == 0) {
+                progressUI.updateStepProgress(100, "⏭️ No templates selected");
+                return;
+            }
+
+            Map<String, String> templates = collectTemplates(headers, selectedIndices);
+            rowsByHref.clear();
+            if (mode == 1) {
+                Row row = settings.getRows().get(rowNumber - 1);
+                templates.keySet().forEach(href -> rowsByHref.put(href, row));
+            } else {
+                matchRowsByTitle(headers, selectedIndices);
+                templates.keySet().retainAll(rowsByHref.keySet());
+            }
+            if (templates.isEmpty()) {
+                progressUI.updateStepProgress(100, "⏭️ No selected template matches a row in the file");
+                return;
+            }
+
+            cellsWritten.set(0);
+            cellsUnchanged.set(0);
+            String inputHash = CheckpointJournal.hashText(CheckpointJournal.hashFile(csvPath)
+                + "\n" + mode + "\n" + rowNumber + "\n" + skipIdentity + "\n" + String.join(",", sections)
+                + "\n" + String.join("\n", templates.keySet()));
+            processTemplates(driver, baseUrl, templates, inputHash, progressUI);
+
+            System.out.println("Cells written: " + cellsWritten.get() + ", already matching: " + cellsUnchanged.get());
+            complete(progressUI, "Drawing settings applied (" + cellsWritten.get() + " cells changed)");
+        } catch (Exception e) {
+            handleError(progressUI, e);
+        }
+    }
+
+    // "all" keeps every section in the file; otherwise the named ones, in file order
+    private List<String> selectSections(String option) {
+        List<String> available = settings.getSections();
+        if (option == null || option.trim().isEmpty() || option.trim().equalsIgnoreCase("all")) {
+            return available;
+        }
+        Set<String> wanted = new HashSet<>();
+        for (String name : option.split(",")) {
+            wanted.add(DrawingSettings.normalize(name).toLowerCase());
+        }
+        List<String> selected = new ArrayList<>();
+        for (String section : available) {
+            if (wanted.contains(section.toLowerCase())) selected.add(section);
+        }
+        return selected;
+    }
+
+    private void matchRowsByTitle(List<Header> headers, int[] selectedIndices) {
+        Map<String, Row> rowsByTitle = new HashMap<>();
+        for (Row row : settings.getRows()) {
+            if (!row.getTitle().isEmpty()) {
+                rowsByTitle.putIfAbsent(row.getTitle().toLowerCase(), row);
+            }
+        }
+        for (int index : selectedIndices) {
+            if (index >= headers.size()) continue;
+            for (TemplateCatalogue.Template template : headers.get(index).getTemplates()) {
+                Row row = rowsByTitle.get(DrawingSettings.normalize(template.getName()).toLowerCase());
+                if (row != null && !template.isDeleted()) {
+                    rowsByHref.putIfAbsent(template.getHref(), row);
+                }
+            }
+        }
+        System.out.println(rowsByHref.size() + " templates match a row by title");
+    }
+
+    @Override
+    protected void processTemplate(WebDriver driver, String href, String label, ProgressUI progressUI) {
+        ProgressTracker progress = new ProgressTracker(progressUI, true);
+        WebDriverWait wait = new WebDriverWait(driver, SAVE_TIMEOUT);
+
+        progress.updateProgress(10, "Reading properties");
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("span.tree-text")));
+        Map<String, Map<String, Property>> current = DrawingProperties.read(driver, sections);
+
+        progress.updateProgress(50, "Comparing with settings");
+        Map<String, Map<String, String>> changes = diff(rowsByHref.get(href), current, label);
+        int changed = changes.values().stream().mapToInt(Map::size).sum();
+        if (changed == 0) {
+            progress.updateProgress(100, "✅ Already up to date");
+            return;
+        }
+
+        progress.updateProgress(60, "Writing properties", "Writing " + changed + " changed properties");
+        Map<String, String> failures = DrawingProperties.apply(driver, changes);
+        cellsWritten.addAndGet(changed - failures.size());
+        PageWaits.waitForPageSettled(driver, PageWaits.DEFAULT_TIMEOUT);
+
+        // Whatever was written is saved even when some cells failed, so a rerun only retries those
+        progress.updateProgress(80, "Saving template");
+        WebElement saveButton = wait.until(ExpectedConditions.elementToBeClickable(
+            By.xpath("//button[contains(@class,'drawing-board-button') and contains(.,'Save Drawing')]")));
+        saveButton.click();
+        wait.until(ExpectedConditions.not(ExpectedConditions.elementToBeClickable(saveButton)));
+
+        if (!failures.isEmpty()) {
+            progress.updateProgress(100, "⚠️ " + failures.size() + " properties not set");
+            throw new IllegalStateException(failures.size() + " properties not set: "
+                + String.join(", ", failures.keySet()));
+        }
+        progress.updateProgress(100, "✅ Saved " + changed + " changes");
+    }
+
+    // section -> property -> wanted value, for editable cells whose current value differs
+    private Map<String, Map<String, String>> diff(Row row, Map<String, Map<String, Property>> current, String label) {
+        Map<String, Map<String, String>> changes = new LinkedHashMap<>();
+        int missing = 0, readOnly = 0;
+        for (Column column : settings.getColumns()) {
+            String wanted = row.get(column);
+            if (wanted == null || !sections.contains(column.getSection())) continue;
+            if (skipIdentity && column.isIdentity()) continue;
+
+            Map<String, Property> properties = current.get(column.getSection());
+            Property property = properties == null ? null : properties.get(column.getProperty());
+            if (property == null) {
+                missing++;
+            } else if (DrawingSettings.sameValue(column.getType(), wanted, property.getValue())) {
+                cellsUnchanged.incrementAndGet();
+            } else if (!property.isEditable()) {
+                readOnly++;
+            } else {
+                changes.computeIfAbsent(column.getSection(), s -> new LinkedHashMap<>())
+                    .put(column.getProperty(), wanted);
+            }
+        }
+        if (missing > 0 || readOnly > 0) {
+            System.out.printf("%s: %d properties not on this drawing, %d differ but are read-only%n",
+                label, missing, readOnly);
+        }
+        return changes;
+    }
+}
@@ -3,46 +3,35 @@ package automation.tasks;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.*;
-import automation.helpers.CsvReader;
-import automation.ui.ProgressUI;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static automation.helpers.ElementHelper.*;
-import java.util.List;
-import java.time.Duration;
 
-public class GlassPartImportTask extends TaskBase {
+public class GlassPartImportTask extends BasePartImportTask<GlassPartImportTask.GlassPartItem> {
+    private static final String UNIT_COLUMN = "Unit";
+    private static final String COST_COLUMN = "Cost";
+    private static final String OBSCURE_COLUMN = "Obscure";
     
     @Override
     public String getName() {
         return "Import Glass Parts";
     }
-    
+
     @Override
-    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
-        initializeProgress(progressUI, 1); // Will be updated when we know item count
-        
-        try {
-            progressUI.updateStatus("Selecting CSV file...");
-            String csvPath = getFile(progressUI, "Glass Parts CSV");
-            if (csvPath == null) {
-                progressUI.showCancellation();
-                return;
-            }
+    protected String getCsvType() {
+        return "Glass Parts CSV";
+    }
 
-            progressUI.updateStatus("Reading CSV...");
-            List<GlassPartItem> items = CsvReader.read(csvPath, this::createItem);
-            
-            progressUI.updateStatus("Importing items...");
-            progressUI.setMainProgressMax(items.size());
-            performImport(items, driver, baseUrl, progressUI);
-            
-            complete(progressUI, "Import completed");
-        } catch (Exception e) {
-            handleError(progressUI, e);
-        }
+    @Override
+    protected String getUrlSegment() {
+        return "GL";
     }
 
-    private GlassPartItem createItem(String[] fields) {
+    @Override
+    protected GlassPartItem createItem(String[] fields) {
         GlassPartItem item = new GlassPartItem();
         item.setPartNo(fields[0]);
         item.setPartName(fields[1]);
@@ -52,7 +41,12 @@ public class GlassPartImportTask extends TaskBase {
         return item;
     }
 
-    private static class GlassPartItem {
+    @Override
+    protected String getPartNo(GlassPartItem item) {
+        return item.getPartNo();
+    }
+
+    static class GlassPartItem {
         String partNo, partName, pUnit, cost, obscure;
 
         public String getPartNo() { return partNo; }
@@ -67,57 +61,71 @@ public class GlassPartImportTask extends TaskBase {
         public void setObscure(String obscure) { this.obscure = obscure; }
     }
 
-    private void performImport(List<GlassPartItem> items, WebDriver driver, 
-                            String baseUrl, ProgressUI progressUI) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-        Actions actions = new Actions(driver);
-        
-        driver.get(baseUrl + "/PricingAndConfig/PartList/GL");
-        wait.until(ExpectedConditions.urlContains("/PricingAndConfig/PartList/GL"));
+    @Override
+    protected void openPartList(WebDriver driver, WebDriverWait wait, String baseUrl) {
+        driver.get(baseUrl + getPartListPath());
+        wait.until(ExpectedConditions.urlContains(getPartListPath()));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.id("add_part_button")));
+    }
+
+    @Override
+    protected void importItem(WebDriver driver, WebDriverWait wait, GlassPartItem item) {
+        openCreateDialog(driver, wait);
+        fillDialog(driver, getFormFields(item));
+
+        WebElement submitButton = wait.until(
+            ExpectedConditions.presenceOfElementLocated(By.id("part_dialog_submit_new")));
+        ((JavascriptExecutor)driver).executeScript("arguments[0].click();", submitButton);
         
-        for (int i = 0; i < items.size(); i++) {
-            GlassPartItem item = items.get(i);
-            progressUI.updateMainProgress(i);
-            progressUI.updateStepProgress(0, "Processing " + item.getPartNo());
-            
-            try {
-                ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
-                clickAddPartButtonWithRetry(driver, wait);
-                
-                enterTextById(wait, "part_no", item.getPartNo());
-                enterTextById(wait, "part_name", item.getPartName());
-                selectDropdownByVisibleText(driver, "part_unit_name", item.getpUnit());
-                selectDropdownByVisibleText(driver, "part_allocated_unit_name", "each");
-                enterTextById(wait, "part_allocated_amount_in_purchase_unit", "1");
-                enterTextById(wait, "part_cost", item.getCost());
-
-                if ("yes".equalsIgnoreCase(item.getObscure())) {
-                    selectCheckboxOrRadioButton(driver, "part_is_obscure_glass");
-                }
-
-                WebElement submitButton = wait.until(
-                    ExpectedConditions.presenceOfElementLocated(By.id("part_dialog_submit_new")));
-                ((JavascriptExecutor)driver).executeScript("arguments[0].click();", submitButton);
-                
-                wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                    By.id("part_dialog_submit_new")));
-                ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
-                actions.sendKeys(Keys.HOME).perform();
-                
-                progressUI.updateStepProgress(100, "✅ Part added");
-            } catch (Exception e) {
-                progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
-                System.out.println("Error adding part " + item.getPartNo() + ": " + e.getMessage());
-                
-                try {
-                    WebElement closeButton = driver.findElement(By.cssSelector(".ui-dialog-titlebar-close"));
-                    ((JavascriptExecutor)driver).executeScript("arguments[0].click();", closeButton);
-                } catch (Exception ex) {
-                    // Ignore if we can't close it
-                }
-            }
+        wait.until(ExpectedConditions.invisibilityOfElementLocated(
+            By.id("part_dialog_submit_new")));
+        ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
+        new Actions(driver).sendKeys(Keys.HOME).perform();
+    }
+    
+    @Override
+    protected void openCreateDialog(WebDriver driver, WebDriverWait wait) {
+        ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
+        clickAddPartButtonWithRetry(driver, wait);
+    }
+
+    @Override
+    protected Map<String, String> getFormFields(GlassPartItem item) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("part_no", item.getPartNo());
+        fields.put("part_name", item.getPartName());
+        fields.put("part_unit_name", item.getpUnit());
+        fields.put("part_allocated_unit_name", "each");
+        fields.put("part_allocated_amount_in_purchase_unit", "1");
+        fields.put("part_cost", item.getCost());
+        fields.put("part_is_obscure_glass", String.valueOf("yes".equalsIgnoreCase(item.getObscure())));
+        return fields;
+    }
+
+    @Override
+    protected Map<String, String> getSyncFields(GlassPartItem item) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(UNIT_COLUMN, item.getpUnit());
+        fields.put(COST_COLUMN, item.getCost());
+        fields.put(OBSCURE_COLUMN, item.getObscure());
+        return fields;
+    }
+
+    @Override
+    protected void updateItem(WebDriver driver, WebDriverWait wait, GlassPartItem item,
+                              Set<String> changedColumns) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (changedColumns.contains(UNIT_COLUMN)) {
+            fields.put("part_unit_name", item.getpUnit());
+        }
+        if (changedColumns.contains(COST_COLUMN)) {
+            fields.put("part_cost", item.getCost());
+        }
+        if (changedColumns.contains(OBSCURE_COLUMN)) {
+            fields.put("part_is_obscure_glass", String.valueOf("yes".equalsIgnoreCase(item.getObscure())));
         }
+        fillDialog(driver, fields);
+        submitEdit(driver, wait);
     }
     
     private void clickAddPartButtonWithRetry(WebDriver driver, WebDriverWait wait) {
@@ -142,4 +150,4 @@ public class GlassPartImportTask extends TaskBase {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -3,46 +3,35 @@ package automation.tasks;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.*;
-import automation.helpers.CsvReader;
-import automation.ui.ProgressUI;
+import automation.helpers.PageWaits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static automation.helpers.ElementHelper.*;
-import java.time.Duration;
-import java.util.List;
 
-public class IronmongeryImportTask extends TaskBase {
+public class IronmongeryImportTask extends BasePartImportTask<IronmongeryImportTask.IronmongeryItem> {
+    private static final String UNIT_COLUMN = "Unit";
+    private static final String COST_COLUMN = "Cost";
     
     @Override
     public String getName() {
         return "Import Ironmongery";
     }
-    
+
     @Override
-    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
-        initializeProgress(progressUI, 1); // Will be updated when we know item count
-        
-        try {
-            progressUI.updateStatus("Selecting CSV file...");
-            String csvPath = getFile(progressUI, "Ironmongery CSV");
-            if (csvPath == null) {
-                progressUI.showCancellation();
-                return;
-            }
+    protected String getCsvType() {
+        return "Ironmongery CSV";
+    }
 
-            progressUI.updateStatus("Reading CSV...");
-            List<IronmongeryItem> items = CsvReader.read(csvPath, this::createItem);
-            
-            progressUI.updateStatus("Importing items...");
-            progressUI.setMainProgressMax(items.size());
-            performImport(items, driver, baseUrl, progressUI);
-            
-            complete(progressUI, "Import completed");
-        } catch (Exception e) {
-            handleError(progressUI, e);
-        }
+    @Override
+    protected String getUrlSegment() {
+        return "IM";
     }
 
-    private IronmongeryItem createItem(String[] fields) {
+    @Override
+    protected IronmongeryItem createItem(String[] fields) {
         IronmongeryItem item = new IronmongeryItem();
         item.setPartNo(fields[0]);
         item.setName(fields[1]);
@@ -53,7 +42,12 @@ public class IronmongeryImportTask extends TaskBase {
         return item;
     }
 
-    private static class IronmongeryItem {
+    @Override
+    protected String getPartNo(IronmongeryItem item) {
+        return item.getPartNo();
+    }
+
+    static class IronmongeryItem {
         String partNo, name, cost, unit, type, notes;
 
         public String getPartNo() { return partNo; }
@@ -72,54 +66,56 @@ public class IronmongeryImportTask extends TaskBase {
         public void setType(String type) { this.type = type; }
     }
 
-    private void performImport(List<IronmongeryItem> items, WebDriver driver, 
-                             String baseUrl, ProgressUI progressUI) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-        Actions actions = new Actions(driver);
-        
-        driver.get(baseUrl + "/PricingAndConfig/PartList/IM");
-        
-        for (int i = 0; i < items.size(); i++) {
-            IronmongeryItem item = items.get(i);
-            progressUI.updateMainProgress(i);
-            progressUI.updateStepProgress(0, "Processing " + item.getPartNo());
-            
-            try {
-                ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
-                WebElement addButton = wait.until(
-                    ExpectedConditions.elementToBeClickable(By.id("add_part_button")));
-                addButton.click();
-                
-                enterTextById(wait, "part_no", item.getPartNo());
-                enterTextById(wait, "part_name", item.getName());
-                selectDropdownByVisibleText(driver, "part_unit_name", item.getUnit());
-                selectDropdownByVisibleText(driver, "part_allocated_unit_name", "each");
-                
-                if (item.getUnit().equalsIgnoreCase("pair") || 
-                    item.getUnit().equalsIgnoreCase("set") ||
-                    item.getUnit().equalsIgnoreCase("roll")) {
-                    enterTextById(wait, "part_allocated_amount_in_purchase_unit", "1");
-                }
-                
-                enterTextById(wait, "part_cost", item.getCost());
-                clickButtonById(driver, "part_dialog_submit_new");
-                wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                    By.id("part_dialog_submit_new")));
-                ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
-                actions.sendKeys(Keys.HOME).perform();
-                Thread.sleep(500);
-                
-                progressUI.updateStepProgress(100, "✅ Part added");
-            } catch (Exception e) {
-                progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
-                System.out.println("Error adding part " + item.getPartNo() + ": " + e.getMessage());
-                
-                try {
-                    driver.findElement(By.cssSelector(".ui-dialog-titlebar-close")).click();
-                } catch (Exception ex) {
-                    // Ignore if we can't close it
-                }
-            }
+    @Override
+    protected void importItem(WebDriver driver, WebDriverWait wait, IronmongeryItem item) 
+            throws Exception {
+        openCreateDialog(driver, wait);
+        fillDialog(driver, getFormFields(item));
+        clickButtonById(driver, "part_dialog_submit_new");
+        wait.until(ExpectedConditions.invisibilityOfElementLocated(
+            By.id("part_dialog_submit_new")));
+        ((JavascriptExecutor)driver).executeScript("window.scrollTo(0, 0)");
+        new Actions(driver).sendKeys(Keys.HOME).perform();
+        PageWaits.waitForAjaxIdle(driver, PageWaits.DEFAULT_TIMEOUT);
+    }
+
+    @Override
+    protected Map<String, String> getFormFields(IronmongeryItem item) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("part_no", item.getPartNo());
+        fields.put("part_name", item.getName());
+        fields.put("part_unit_name", item.getUnit());
+        fields.put("part_allocated_unit_name", "each");
+        if (isMultiUnit(item.getUnit())) {
+            fields.put("part_allocated_amount_in_purchase_unit", "1");
+        }
+        fields.put("part_cost", item.getCost());
+        return fields;
+    }
+
+    private static boolean isMultiUnit(String unit) {
+        return unit.equalsIgnoreCase("pair") || unit.equalsIgnoreCase("set") || unit.equalsIgnoreCase("roll");
+    }
+
+    @Override
+    protected Map<String, String> getSyncFields(IronmongeryItem item) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(UNIT_COLUMN, item.getUnit());
+        fields.put(COST_COLUMN, item.getCost());
+        return fields;
+    }
+
+    @Override
+    protected void updateItem(WebDriver driver, WebDriverWait wait, IronmongeryItem item,
+                              Set<String> changedColumns) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (changedColumns.contains(UNIT_COLUMN)) {
+            fields.put("part_unit_name", item.getUnit());
+        }
+        if (changedColumns.contains(COST_COLUMN)) {
+            fields.put("part_cost", item.getCost());
         }
+        fillDialog(driver, fields);
+        submitEdit(driver, wait);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,243 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import automation.SessionFactory;
+import automation.helpers.Percentiles;
+import automation.ui.ProgressUI;
+import automation.ui.ShardProgressUI;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the Add Lead flow as N virtual users, each in its own headless browser.
+// Users start evenly across the ramp-up, all run through the steady state, and
+// stop in reverse order across the ramp-down. Every server round trip of the flow
+// is timed, and completions are bucketed over time so the throughput ceiling shows
+// as the point where adding users stops adding leads per minute.
+public class LeadLoadTestTask extends TaskBase {
+    private static final int MAX_USERS = 50;
+    private static final long BUCKET_SECONDS = 10;
+    private static final String TOTAL = "whole lead";
+    private static final String RESULTS_DIR = "benchmarks";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String[] STEPS = {
+        AddLeadTask.STEP_OPEN_FORM, AddLeadTask.STEP_SAVE_CONTACT,
+        AddLeadTask.STEP_SAVE_ADDRESS, AddLeadTask.STEP_CONVERT, TOTAL };
+
+    private final AddLeadTask leadFlow = new AddLeadTask();
+
+    // Step name -> latencies in ms, step name -> error count
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+    // Seconds since the test started at which each lead completed
+    private final List<Long> completions = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final Map<Long, Integer> usersPerBucket = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "Lead Load Test";
+    }
+
+    @Override
+    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        initializeProgress(progressUI, 1);
+
+        try {
+            if (server == null) {
+                throw new IllegalStateException("Load test needs a server to open sessions on");
+            }
+            int users = Math.max(1, Math.min(MAX_USERS,
+                getNumber(progressUI, "users", "Virtual users", 5)));
+            int rampUp = Math.max(0, getNumber(progressUI, "rampup", "Ramp-up seconds", 30));
+            int steady = Math.max(1, getNumber(progressUI, "steady", "Steady-state seconds", 120));
+            int rampDown = Math.max(0, getNumber(progressUI, "rampdown", "Ramp-down seconds", 30));
+            int thinkMillis = Math.max(0, getNumber(progressUI, "think", "Think time between leads (ms)", 1000));
+
+            reset();
+            long totalSeconds = rampUp + steady + rampDown;
+            progressUI.setMainProgressMax((int) totalSeconds);
+            progressUI.updateStatus("Load test: " + users + " users for " + totalSeconds + " s");
+
+            long start = System.nanoTime();
+            ExecutorService executor = Executors.newFixedThreadPool(users);
+            for (int u = 0; u < users; u++) {
+                long startAt = rampUp * 1000L * u / users;
+                long stopAt = (rampUp + steady) * 1000L + rampDown * 1000L * (users - 1 - u) / users;
+                int userNumber = u + 1;
+                executor.submit(() -> runUser(userNumber, baseUrl, start, startAt, stopAt, thinkMillis, progressUI));
+            }
+            executor.shutdown();
+
+            // Sample the active user count once per bucket while the users run
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                long elapsed = secondsSince(start);
+                usersPerBucket.merge(elapsed / BUCKET_SECONDS, activeUsers.get(), Math::max);
+                progressUI.updateMainProgress((int) Math.min(elapsed, totalSeconds));
+            }
+            progressUI.updateMainProgress((int) totalSeconds);
+
+            Map<String, Object> report = buildReport(users, rampUp, steady, rampDown, thinkMillis);
+            printReport(report);
+            Path file = saveReport(report);
+            complete(progressUI, completions.size() + " leads created; report saved to " + file);
+        } catch (Exception e) {
+            handleError(progressUI, e);
+        }
+    }
+
+    private void runUser(int userNumber, String baseUrl, long testStart, long startAt, long stopAt,
+                         int thinkMillis, ProgressUI progressUI) {
+        ProgressUI userProgress = new ShardProgressUI(progressUI, new AtomicInteger(), userNumber);
+        WebDriver userDriver = null;
+        try {
+            sleepUntil(testStart, startAt);
+            userProgress.updateStatus("Logging in");
+            userDriver = SessionFactory.openSession(server, true);
+            activeUsers.incrementAndGet();
+            WebDriverWait wait = new WebDriverWait(userDriver, Duration.ofSeconds(30));
+
+            while (millisSince(testStart) < stopAt) {
+                long leadStart = System.nanoTime();
+                try {
+                    userDriver.get(baseUrl + "/Home");
+                    leadFlow.createLead(userDriver, userProgress, wait, this::recordLatency);
+                    recordLatency(TOTAL, (System.nanoTime() - leadStart) / 1_000_000);
+                    completions.add(secondsSince(testStart));
+                } catch (AddLeadTask.StepFailedException e) {
+                    recordError(e.step, e.getMessage());
+                } catch (Exception e) {
+                    recordError(TOTAL, e.getMessage());
+                }
+                Thread.sleep(thinkMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            recordError("login", e.getMessage());
+        } finally {
+            if (userDriver != null) {
+                activeUsers.decrementAndGet();
+                userDriver.quit();
+            }
+        }
+    }
+
+    private void reset() {
+        latencies.clear();
+        errors.clear();
+        completions.clear();
+        usersPerBucket.clear();
+        activeUsers.set(0);
+    }
+
+    private void recordLatency(String step, long millis) {
+        latencies.computeIfAbsent(step, s -> Collections.synchronizedList(new ArrayList<>())).add(millis);
+    }
+
+    private void recordError(String step, String message) {
+        errors.computeIfAbsent(step, s -> new AtomicInteger()).incrementAndGet();
+        System.out.println("❌ " + step + " failed: " + message);
+    }
+
+    private Map<String, Object> buildReport(int users, int rampUp, int steady, int rampDown, int thinkMillis) {
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (String step : STEPS) {
+            List<Long> samples = latencies.getOrDefault(step, Collections.emptyList());
+            double[] values;
+            synchronized (samples) {
+                values = samples.stream().mapToDouble(Long::doubleValue).toArray();
+            }
+            Map<String, Object> summary = new LinkedHashMap<>(Percentiles.summarise(values));
+            summary.put("samples", values.length);
+            summary.put("errors", errors.getOrDefault(step, new AtomicInteger()).get());
+            steps.put(step, summary);
+        }
+
+        // Leads per minute in each time bucket, next to the users active in it
+        Map<Long, Integer> perBucket = new TreeMap<>();
+        synchronized (completions) {
+            for (long second : completions) {
+                perBucket.merge(second / BUCKET_SECONDS, 1, Integer::sum);
+            }
+        }
+        List<Map<String, Object>> timeline = new ArrayList<>();
+        long lastBucket = (rampUp + steady + rampDown) / BUCKET_SECONDS;
+        for (long bucket = 0; bucket <= lastBucket; bucket++) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("fromSecond", bucket * BUCKET_SECONDS);
+            point.put("activeUsers", usersPerBucket.getOrDefault(bucket, 0));
+            point.put("leadsPerMinute", perBucket.getOrDefault(bucket, 0) * 60.0 / BUCKET_SECONDS);
+            timeline.add(point);
+        }
+        double peak = timeline.stream()
+            .mapToDouble(p -> (Double) p.get("leadsPerMinute")).max().orElse(0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("server", server.getName());
+        report.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        report.put("users", users);
+        report.put("rampUpSeconds", rampUp);
+        report.put("steadySeconds", steady);
+        report.put("rampDownSeconds", rampDown);
+        report.put("thinkMillis", thinkMillis);
+        report.put("leadsCreated", completions.size());
+        report.put("loginErrors", errors.getOrDefault("login", new AtomicInteger()).get());
+        report.put("peakLeadsPerMinute", peak);
+        report.put("steps", steps);
+        report.put("timeline", timeline);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void printReport(Map<String, Object> report) {
+        System.out.println("\n=== Lead Load Test: " + report.get("server") + ", " + report.get("users")
+            + " users ===");
+        System.out.printf("%-22s %8s %8s %8s %8s %8s %7s%n",
+            "Step (ms)", "samples", "p50", "p90", "p99", "max", "errors");
+        ((Map<String, Object>) report.get("steps")).forEach((step, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            System.out.printf("%-22s %8d %8.0f %8.0f %8.0f %8.0f %7d%n", step, s.get("samples"),
+                s.get("p50"), s.get("p90"), s.get("p99"), s.get("max"), s.get("errors"));
+        });
+
+        System.out.println("\nSecond  Users  Leads/min");
+        for (Map<String, Object> point : (List<Map<String, Object>>) report.get("timeline")) {
+            System.out.printf("%6d  %5d  %9.1f%n",
+                point.get("fromSecond"), point.get("activeUsers"), point.get("leadsPerMinute"));
+        }
+        System.out.printf("Created %d leads, peak %.1f leads/min%n",
+            report.get("leadsCreated"), report.get("peakLeadsPerMinute"));
+    }
+
+    private Path saveReport(Map<String, Object> report) throws IOException {
+        Path dir = Paths.get(RESULTS_DIR);
+        Files.createDirectories(dir);
+        String serverName = server.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        Path file = dir.resolve("leadload_" + serverName + "_" + LocalDateTime.now().format(STAMP) + ".json");
+        Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static void sleepUntil(long testStart, long offsetMillis) throws InterruptedException {
+        long wait = offsetMillis - millisSince(testStart);
+        if (wait > 0) Thread.sleep(wait);
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long secondsSince(long startNanos) {
+        return millisSince(startNanos) / 1000;
+    }
+}
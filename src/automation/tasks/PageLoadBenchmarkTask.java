@@ -0,0 +1,240 @@
+package automation.tasks;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.json.Json;
+import automation.helpers.PageTimings;
+import automation.helpers.Percentiles;
+import automation.ui.ProgressUI;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Walks a fixed route list with warm-up passes, then N measured passes, and reports
+// percentiles of the browser's own timings per route. Every run is appended to one
+// CSV (with server and timestamp columns) so servers can be compared side by side.
+// Batch runs take one --option per setting; only the route list itself uses commas:
+//   --task "Page Load Benchmark" --server Staging --option routes=/Home,/PricingAndConfig/PartList/IM
+//        --option warmup=1 --option iterations=5
+public class PageLoadBenchmarkTask extends TaskBase {
+    // A route starting with "~" follows the first link whose href contains the rest,
+    // found on the route before it, so a template can be benchmarked without its id
+    private static final String DEFAULT_ROUTES = String.join(",",
+        "/Home",
+        "/PricingAndConfig/PartList/IM",
+        "/PricingAndConfig/PartList/GL",
+        "/PricingAndConfig/DrawingBoardConfig",
+        "~DrawingTemplate",
+        "~/SurveySystem/DrawingBoard/Template/");
+    private static final String[] METRICS = {
+        "loadEventMs", "ttfbMs", "backendMs", "domContentLoadedMs", "fcpMs", "lcpMs", "transferBytes" };
+    private static final String RESULTS_DIR = "benchmarks";
+    private static final String RESULTS_CSV = "benchmark_results.csv";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Override
+    public String getName() {
+        return "Page Load Benchmark";
+    }
+
+    @Override
+    public void execute(WebDriver driver, String baseUrl, ProgressUI progressUI) {
+        initializeProgress(progressUI, 1);
+
+        try {
+            String routeList = getText(progressUI, "routes", "Routes to benchmark, comma separated", DEFAULT_ROUTES);
+            int warmup = Math.max(0, getNumber(progressUI, "warmup", "Warm-up passes", 1));
+            int iterations = Math.max(1, getNumber(progressUI, "iterations", "Measured passes", 5));
+
+            progressUI.updateStatus("Resolving routes...");
+            List<String> routes = resolveRoutes(driver, baseUrl, routeList);
+
+            int totalLoads = routes.size() * (warmup + iterations);
+            progressUI.setMainProgressMax(totalLoads);
+            Map<String, List<Map<String, Object>>> samples = new LinkedHashMap<>();
+            Map<String, Integer> errors = new LinkedHashMap<>();
+            for (String route : routes) {
+                samples.put(route, new ArrayList<>());
+                errors.put(route, 0);
+            }
+
+            int done = 0;
+            for (int pass = 0; pass < warmup + iterations; pass++) {
+                boolean measured = pass >= warmup;
+                progressUI.updateStatus(measured
+                    ? "Measured pass " + (pass - warmup + 1) + " of " + iterations
+                    : "Warm-up pass " + (pass + 1) + " of " + warmup);
+
+                for (String route : routes) {
+                    progressUI.updateMainProgress(done++);
+                    progressUI.updateStepProgress(0, "Loading " + route);
+                    try {
+                        driver.get(baseUrl + route);
+                        PageTimings timings = PageTimings.capture(driver);
+                        if (measured && timings != null) {
+                            samples.get(route).add(timings.toMap());
+                        }
+                        progressUI.updateStepProgress(100, timings == null
+                            ? "⚠️ No timing for " + route
+                            : String.format("✅ %s %.0f ms", route, timings.getLoadEvent()));
+                    } catch (Exception e) {
+                        if (measured) errors.merge(route, 1, Integer::sum);
+                        progressUI.updateStepProgress(100, "❌ " + route + ": " + e.getMessage());
+                    }
+                }
+            }
+            progressUI.updateMainProgress(totalLoads);
+
+            Map<String, Object> report = buildReport(baseUrl, warmup, iterations, samples, errors);
+            printReport(report);
+            Path jsonFile = saveReport(report);
+            complete(progressUI, "Benchmark saved to " + jsonFile);
+        } catch (Exception e) {
+            handleError(progressUI, e);
+        }
+    }
+
+    private List<String> resolveRoutes(WebDriver driver, String baseUrl, String routeList) {
+        List<String> routes = new ArrayList<>();
+        String previous = null;
+
+        for (String entry : routeList.split(",")) {
+            String route = entry.trim();
+            if (route.isEmpty()) continue;
+
+            if (route.startsWith("~")) {
+                if (previous == null) {
+                    System.out.println("⚠️ Skipping " + route + ": no route before it to follow a link from");
+                    continue;
+                }
+                driver.get(baseUrl + previous);
+                List<WebElement> links = driver.findElements(
+                    By.cssSelector("a[href*='" + route.substring(1).replace("'", "\\'") + "']"));
+                if (links.isEmpty()) {
+                    System.out.println("⚠️ Skipping " + route + ": no matching link on " + previous);
+                    continue;
+                }
+                // Relative hrefs resolve against the page they were found on; the route is then
+                // made relative to baseUrl, whose own path prefix (if any) is taken off again
+                URI target = URI.create(driver.getCurrentUrl()).resolve(links.get(0).getDomAttribute("href"));
+                String path = target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+                String basePath = URI.create(baseUrl).getRawPath();
+                basePath = basePath == null ? "" : basePath.replaceAll("/+$", "");
+                if (!basePath.isEmpty() && path.startsWith(basePath + "/")) {
+                    path = path.substring(basePath.length());
+                }
+                route = path + (target.getRawQuery() != null ? "?" + target.getRawQuery() : "");
+            } else if (!route.startsWith("/")) {
+                route = "/" + route;
+            }
+
+            routes.add(route);
+            previous = route;
+        }
+
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("No routes to benchmark");
+        }
+        return routes;
+    }
+
+    private Map<String, Object> buildReport(String baseUrl, int warmup, int iterations,
+                                            Map<String, List<Map<String, Object>>> samples,
+                                            Map<String, Integer> errors) {
+        List<Map<String, Object>> routeReports = new ArrayList<>();
+        samples.forEach((route, runs) -> {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (String metric : METRICS) {
+                double[] values = runs.stream()
+                    .mapToDouble(run -> ((Number) run.get(metric)).doubleValue())
+                    .toArray();
+                metrics.put(metric, Percentiles.summarise(values));
+            }
+
+            Map<String, Object> routeReport = new LinkedHashMap<>();
+            routeReport.put("route", route);
+            routeReport.put("samples", runs.size());
+            routeReport.put("errors", errors.get(route));
+            routeReport.put("metrics", metrics);
+            routeReports.add(routeReport);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("server", server != null ? server.getName() : baseUrl);
+        report.put("url", baseUrl);
+        report.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        report.put("warmupPasses", warmup);
+        report.put("measuredPasses", iterations);
+        report.put("routes", routeReports);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void printReport(Map<String, Object> report) {
+        System.out.println("\n=== Benchmark: " + report.get("server") + " (" + report.get("measuredPasses")
+            + " passes after " + report.get("warmupPasses") + " warm-up) ===");
+        System.out.printf("%-45s %8s %8s %8s %8s %9s %7s%n",
+            "Route (load event, ms)", "p50", "p90", "p99", "max", "TTFB p50", "errors");
+
+        for (Map<String, Object> route : (List<Map<String, Object>>) report.get("routes")) {
+            Map<String, Object> metrics = (Map<String, Object>) route.get("metrics");
+            Map<String, Object> load = (Map<String, Object>) metrics.get("loadEventMs");
+            Map<String, Object> ttfb = (Map<String, Object>) metrics.get("ttfbMs");
+            System.out.printf("%-45s %8.0f %8.0f %8.0f %8.0f %9.0f %7d%n",
+                route.get("route"), load.get("p50"), load.get("p90"), load.get("p99"), load.get("max"),
+                ttfb.get("p50"), route.get("errors"));
+        }
+    }
+
+    // One JSON file per run, plus a row per route and metric in the shared CSV
+    @SuppressWarnings("unchecked")
+    private Path saveReport(Map<String, Object> report) throws IOException {
+        Path dir = Paths.get(RESULTS_DIR);
+        Files.createDirectories(dir);
+
+        String serverName = String.valueOf(report.get("server")).replaceAll("[^A-Za-z0-9._-]", "_");
+        Path jsonFile = dir.resolve(serverName + "_" + LocalDateTime.now().format(STAMP) + ".json");
+        Files.writeString(jsonFile, new Json().toJson(report), StandardCharsets.UTF_8);
+
+        Path csvFile = dir.resolve(RESULTS_CSV);
+        StringBuilder csv = new StringBuilder();
+        if (!Files.exists(csvFile)) {
+            csv.append("timestamp,server,route,samples,errors,metric,p50,p90,p99,max,mean\n");
+        }
+        for (Map<String, Object> route : (List<Map<String, Object>>) report.get("routes")) {
+            Map<String, Object> metrics = (Map<String, Object>) route.get("metrics");
+            metrics.forEach((metric, value) -> {
+                Map<String, Object> s = (Map<String, Object>) value;
+                csv.append(String.join(",",
+                    String.valueOf(report.get("timestamp")),
+                    csvField(String.valueOf(report.get("server"))),
+                    csvField(String.valueOf(route.get("route"))),
+                    String.valueOf(route.get("samples")),
+                    String.valueOf(route.get("errors")),
+                    metric,
+                    format(s.get("p50")), format(s.get("p90")), format(s.get("p99")),
+                    format(s.get("max")), format(s.get("mean"))))
+                    .append('\n');
+            });
+        }
+        Files.writeString(csvFile, csv, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        System.out.println("Results: " + jsonFile + " and " + csvFile);
+        return jsonFile;
+    }
+
+    private static String format(Object value) {
+        return String.format(Locale.ROOT, "%.1f", ((Number) value).doubleValue());
+    }
+
+    private static String csvField(String value) {
+        return value.contains(",") || value.contains("\"")
+            ? "\"" + value.replace("\"", "\"\"") + "\""
+            : value;
+    }
+}
@@ -1,23 +1,24 @@
 package automation.tasks;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.*;
+import automation.helpers.PageTimings;
 import automation.ui.AutomationUI;
 import automation.ui.ProgressUI;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.time.Duration;
 import java.util.*;
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicScrollBarUI;
 
 public class PageLoadTimeTask implements AutomationTask {
+    private static final Font TABLE_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
     
     private static JDialog dialog;
     private static JTextArea history;
@@ -35,7 +36,7 @@ public class PageLoadTimeTask implements AutomationTask {
     }
     
     private void setupDialog() {
-        dialog = AutomationUI.createStyledDialog("Page Load Timer", 450, 350);
+        dialog = AutomationUI.createStyledDialog("Page Load Timer", 560, 480);
         JPanel content = (JPanel)((JPanel)dialog.getContentPane()).getComponent(1);
         content.setLayout(new BorderLayout());
         
@@ -67,7 +68,7 @@ public class PageLoadTimeTask implements AutomationTask {
         };
         
         history.setEditable(false);
-        history.setFont(AutomationUI.BODY_FONT);
+        history.setFont(TABLE_FONT); // Monospaced so the breakdown columns line up
         history.setForeground(Color.WHITE); // Keep text white
         history.setOpaque(false); // Make transparent
         history.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -146,27 +147,26 @@ public class PageLoadTimeTask implements AutomationTask {
         content.add(buttonPanel, BorderLayout.SOUTH);
     }
     
+    // Reloads the page, then reads the browser's timing entries for that load
     private void measureLoadTime() {
-        new SwingWorker<Void, Void>() {
-            long startTime;
-            double loadTime;
-            
-            protected Void doInBackground() {
-                startTime = System.currentTimeMillis();
+        new SwingWorker<PageTimings, Void>() {
+            protected PageTimings doInBackground() {
                 activeDriver.navigate().refresh();
-                
-                new WebDriverWait(activeDriver, Duration.ofSeconds(30))
-                    .until(d -> ((JavascriptExecutor)d)
-                        .executeScript("return document.readyState").equals("complete"));
-                
-                loadTime = (System.currentTimeMillis() - startTime) / 1000.0;
-                return null;
+                return PageTimings.capture(activeDriver);
             }
             
             protected void done() {
-                String timestamp = String.format("[%tT]", new Date());
-                String entry = String.format("%s %.2f seconds\n", timestamp, loadTime);
-                history.append(entry);
+                String timestamp = String.format("[%tT] ", new Date());
+                String entry;
+                try {
+                    PageTimings timings = get();
+                    entry = timings == null
+                        ? "No navigation timing available for this page\n"
+                        : timings.formatTable();
+                } catch (Exception e) {
+                    entry = "❌ Measurement failed: " + e.getMessage() + "\n";
+                }
+                history.append(timestamp + entry + "\n");
                 history.setCaretPosition(history.getText().length());
             }
         }.execute();
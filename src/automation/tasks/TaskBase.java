@@ -1,11 +1,24 @@
 package automation.tasks;
 
+import automation.ServerManager;
+import automation.helpers.CheckpointJournal;
 import automation.helpers.FileChooserHelper;
+import automation.helpers.Metrics;
 import automation.ui.ProgressUI;
 
+import java.io.IOException;
+
 public abstract class TaskBase implements AutomationTask {
+    protected ServerManager.Server server;
+
+    @Override
+    public void setServer(ServerManager.Server server) {
+        this.server = server;
+    }
+
     protected void handleError(ProgressUI progressUI, Exception e) {
         String errorMsg = "❌ " + getName() + " failed: " + e.getMessage();
+        Metrics.countTaskError();
         progressUI.updateStepProgress(100, errorMsg);
         FileChooserHelper.showErrorDialog(errorMsg);
     }
@@ -22,6 +35,30 @@ public abstract class TaskBase implements AutomationTask {
         return FileChooserHelper.showDirectoryChooser(progressUI, dirType);
     }
 
+    protected int getNumber(ProgressUI progressUI, String key, String prompt, int defaultValue) {
+        return FileChooserHelper.showNumberInput(progressUI, key, prompt, defaultValue);
+    }
+
+    protected String getText(ProgressUI progressUI, String key, String prompt, String defaultValue) {
+        return FileChooserHelper.showTextInput(progressUI, key, prompt, defaultValue);
+    }
+
+    protected int getChoice(ProgressUI progressUI, String key, String prompt, String[] choices, int defaultIndex) {
+        return FileChooserHelper.showChoice(progressUI, key, prompt, choices, defaultIndex);
+    }
+
+    // One journal per server, task and input, so a rerun of the same job resumes it
+    protected CheckpointJournal openJournal(ProgressUI progressUI, String inputHash) throws IOException {
+        String serverName = server != null ? server.getName() : null;
+        CheckpointJournal journal = CheckpointJournal.open(serverName, getName(), inputHash);
+        int completed = journal.getCompletedCount();
+        if (completed > 0) {
+            progressUI.updateStatus("Resuming: " + completed + " items already done");
+            System.out.println("Resuming from " + journal.getPath() + " (" + completed + " done)");
+        }
+        return journal;
+    }
+
     protected void initializeProgress(ProgressUI progressUI, int maxSteps) {
         progressUI.showProgress(getName(), "Initializing...");
         progressUI.setMainProgressMax(maxSteps);
@@ -15,6 +15,10 @@ public class TaskRegistry {
         register(new UploadIronmongeryImagesTask());
         register(new UpdateIronmongeryDefaultsTask());
         register(new PageLoadTimeTask());
+        register(new PageLoadBenchmarkTask());
+        register(new LeadLoadTestTask());
+        register(new DrawingSettingsTask());
+        register(new DrawingSettingsExportTask());
     }
     
     public static void register(AutomationTask task) {
@@ -5,15 +5,17 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import automation.ui.ProgressUI;
+import automation.helpers.CheckpointJournal;
+import automation.helpers.FileChooserHelper;
 import automation.helpers.InteractionHelper;
 import automation.helpers.ProgressTracker;
-import automation.ui.AutomationUI;
+import automation.helpers.TemplateCatalogue;
+import automation.helpers.TemplateCatalogue.Header;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
-import javax.swing.*;
+import java.util.Map;
 
-public class UpdateIronmongeryDefaultsTask implements AutomationTask {
+public class UpdateIronmongeryDefaultsTask extends BaseTemplateTask {
     
     @Override
     public String getName() {
@@ -28,158 +30,40 @@ public class UpdateIronmongeryDefaultsTask implements AutomationTask {
             progressUI.setMainProgressMax(1); // Will update when we know template count
             progressUI.setStepProgressMax(100);
             
-            if (!navigateToTemplates(driver, baseUrl, progressUI)) {
+            TemplateCatalogue catalogue = loadCatalogue(driver, baseUrl, progressUI);
+            if (catalogue == null) {
                 return;
             }
             
-            List<WebElement> headers = getTemplateHeaders(driver);
-            int[] selectedIndices = selectTemplatesToUpdate(headers);
+            List<Header> headers = getSelectableHeaders(catalogue);
+            int[] selectedIndices = selectHeaders(headers, "Select templates to update:");
             
             if (selectedIndices == null || selectedIndices.length == 0) {
                 progressUI.updateStepProgress(100, "⏭️ No templates selected");
                 return;
             }
             
-            processSelectedTemplates(driver, headers, selectedIndices, progressUI);
+            Map<String, String> templates = collectTemplates(headers, selectedIndices);
+            if (templates.isEmpty()) {
+                progressUI.updateStepProgress(100, "⏭️ No templates under the selected headers");
+                return;
+            }
+            processTemplates(driver, baseUrl, templates,
+                CheckpointJournal.hashText(String.join("\n", templates.keySet())), progressUI);
             
             progressUI.updateStepProgress(100, "✅ Defaults updated");
         } catch (Exception e) {
             progressUI.updateStepProgress(100, "❌ Failed: " + e.getMessage());
-            AutomationUI.showMessageDialog(
-                null, 
-                "Error updating defaults: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE
-            );
-            throw e;
-        }
-    }
-    
-    private boolean navigateToTemplates(WebDriver driver, String baseUrl, ProgressUI progressUI) {
-        try {
-            progressUI.updateStepProgress(5, "Navigating to templates");
-            
-            if (!driver.getCurrentUrl().contains("/Home")) {
-                driver.get(baseUrl + "/Home");
-            }
-            
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-            wait.until(ExpectedConditions.presenceOfElementLocated(
-                By.xpath("//a[contains(@href,'DrawingBoardConfig')]")));
-            
-            progressUI.updateStepProgress(10, "Opening drawing board config");
-            WebElement drawingBoardLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(@href,'/PricingAndConfig/DrawingBoardConfig')]")));
-            drawingBoardLink.click();
-            
-            wait.until(ExpectedConditions.urlContains("DrawingBoardConfig"));
-            
-            progressUI.updateStepProgress(15, "Opening template tab");
-            WebElement templateTab = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(@class,'tab_inactive') and contains(@href,'DrawingTemplate')]")));
-            templateTab.click();
-            
-            wait.until(ExpectedConditions.urlContains("DrawingTemplate"));
-            return true;
-        } catch (Exception e) {
-            progressUI.updateStepProgress(100, "❌ Navigation failed");
-            return false;
+            FileChooserHelper.showErrorDialog("Error updating defaults: " + e.getMessage());
+            if (e instanceof RuntimeException) throw (RuntimeException) e;
+            throw new RuntimeException("Ironmongery defaults update failed", e);
         }
     }
     
-    private List<WebElement> getTemplateHeaders(WebDriver driver) {
-        return driver.findElements(By.cssSelector("div.header2, div.header3"));
-    }
-    
-    private int[] selectTemplatesToUpdate(List<WebElement> headers) {
-        List<WebElement> filteredHeaders = new ArrayList<>();
-        for (WebElement header : headers) {
-            String text = header.getText().trim();
-            if (!text.isEmpty() && !text.equals("Drawing Template") && !text.contains("Main organisation")) {
-                filteredHeaders.add(header);
-            }
-        }
-        
-        return AutomationUI.showMultiOptionDialog(
-            null,
-            "Select templates to update:",
-            "Template Selection",
-            filteredHeaders
-        );
-    }
-    
-    private void processSelectedTemplates(WebDriver driver, List<WebElement> headers, 
-            int[] selectedIndices, ProgressUI progressUI) {
-        List<WebElement> filteredHeaders = new ArrayList<>();
-        for (WebElement header : headers) {
-            String text = header.getText().trim();
-            if (!text.isEmpty() && !text.equals("Drawing Template") && !text.contains("Main organisation")) {
-                filteredHeaders.add(header);
-            }
-        }
-
-        progressUI.setMainProgressMax(selectedIndices.length);
-        progressUI.updateStatus("Processing " + selectedIndices.length + " templates");
-
-        for (int i = 0; i < selectedIndices.length; i++) {
-            int index = selectedIndices[i];
-            progressUI.updateMainProgress(i);
-
-            if (index >= filteredHeaders.size()) continue;
-
-            WebElement header = filteredHeaders.get(index);
-            String headerText = header.getText().trim();
-
-            try {
-                progressUI.updateStepProgress(0, "Processing " + headerText);
-                ((JavascriptExecutor)driver).executeScript("arguments[0].scrollIntoView({block:'center'});", header);
-
-                String xpath = String.format(
-                    ".//a[starts-with(@href,'/SurveySystem/DrawingBoard/Template/')]" +
-                    "[preceding-sibling::div[@class='header3'][1][normalize-space()='%s']]" +
-                    "[not(./div[contains(@class,'drawing_deleted')])]",
-                    headerText.replace("'", "\\'"));
-
-                List<WebElement> templates = new WebDriverWait(driver, Duration.ofSeconds(20))
-                    .until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.xpath(xpath)));
-
-                progressUI.updateStatus("Processing " + templates.size() + " templates under: " + headerText);
-
-                for (int j = 0; j < templates.size(); j++) {
-                    WebElement template = templates.get(j);
-                    String currentUrl = driver.getCurrentUrl();
-
-                    progressUI.updateStepProgress(j * 100 / templates.size(), 
-                        "Processing template " + (j+1) + "/" + templates.size());
-
-                    try {
-                        ((JavascriptExecutor)driver).executeScript(
-                            "arguments[0].scrollIntoView({block:'center'});" +
-                            "arguments[0].click();", 
-                            template);
-
-                        new WebDriverWait(driver, Duration.ofSeconds(20))
-                            .until(ExpectedConditions.not(ExpectedConditions.urlToBe(currentUrl)));
-
-                        updateTemplateDefaults(driver, progressUI);
-                        driver.navigate().back();
-                        new WebDriverWait(driver, Duration.ofSeconds(20))
-                            .until(ExpectedConditions.urlToBe(currentUrl));
-
-                    } catch (Exception e) {
-                        System.out.println("Skipping template: " + e.getMessage());
-                        if (!driver.getCurrentUrl().equals(currentUrl)) {
-                            driver.navigate().back();
-                        }
-                    }
-                }
-
-                progressUI.updateStepProgress(100, "✅ Completed");
-            } catch (Exception e) {
-                progressUI.updateStepProgress(100, "❌ Failed");
-                System.out.println("Error with header '" + headerText + "': " + e.getMessage());
-            }
-        }
+    @Override
+    protected void processTemplate(WebDriver driver, String href, String label, ProgressUI progressUI)
+            throws InterruptedException {
+        updateTemplateDefaults(driver, progressUI);
     }
     
     private void updateTemplateDefaults(WebDriver driver, ProgressUI progressUI) throws InterruptedException {
@@ -38,40 +38,12 @@ public class UploadGlassImagesTask extends BaseUploadImagesTask {
         wait.until(ExpectedConditions.urlContains("/GL"));
     }
 
-    // 3. EXACT LEGACY MATCHING LOGIC
+    // 3. LEGACY MATCHING LOGIC: any shared word outside the excluded list
     @Override
-    protected boolean isMatch(String imageName, String partName) {
-        // Your original implementation:
-        String cleanImageName = cleanName(imageName).toLowerCase();
-        String cleanPartName = cleanName(partName).toLowerCase();
-        
-        Set<String> imageWords = new HashSet<>(Arrays.asList(cleanImageName.split("\\s+")));
-        imageWords.removeAll(EXCLUDED_WORDS);
-        
-        Set<String> partWords = new HashSet<>(Arrays.asList(cleanPartName.split("\\s+")));
-        partWords.removeAll(EXCLUDED_WORDS);
-        
-        for (String word : imageWords) {
-            if (partWords.contains(word)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    // 4. COPIED VERBATIM FROM LEGACY
-    protected String cleanName(String name) {
-        return name.toLowerCase()
-            .replaceAll("\\d+\\.?\\d*mm", "")
-            .replaceAll("[^a-z0-9]", " ")
-            .replaceAll("\\s+", " ")
-            .trim();
-    }
-
-    // 5. UNCHANGED PART ROWS SELECTION
-    @Override
-    protected List<WebElement> getPartRows() {
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
-            By.cssSelector("tr.main_part_row:not(.part_photo_row)")));
+    protected Collection<String> getMatchKeys(String name) {
+        Set<String> words = new HashSet<>(Arrays.asList(cleanName(name).split(" ")));
+        words.removeAll(EXCLUDED_WORDS);
+        words.remove("");
+        return words;
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package automation.tasks;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import java.util.Collection;
 import java.util.List;
 
 public class UploadIronmongeryImagesTask extends BaseUploadImagesTask {
@@ -31,28 +32,15 @@ public class UploadIronmongeryImagesTask extends BaseUploadImagesTask {
         wait.until(ExpectedConditions.urlContains("/IM"));
     }
 
-    // Original part selection
+    // Legacy exact matching (no excluded words): one normalised key per name
     @Override
-    protected List<WebElement> getPartRows() {
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
-            By.cssSelector("tr.main_part_row:not(.part_photo_row)")));
-    }
-
-    // Legacy exact matching (no excluded words)
-    @Override
-    protected boolean isMatch(String imageName, String partName) {
-        // Original normalization and exact comparison
-        String normalizedImage = imageName.toLowerCase()
-            .replaceAll("[^a-z0-9]", "");
-        String normalizedPart = partName.toLowerCase()
-            .replaceAll("[^a-z0-9]", "");
-        return normalizedImage.equals(normalizedPart);
+    protected Collection<String> getMatchKeys(String name) {
+        return List.of(cleanName(name));
     }
 
     // Original helper method (if used by base class)
+    @Override
     protected String cleanName(String name) {
-        return name.toLowerCase()
-            .replaceAll("[^a-z0-9]", "")
-            .trim();
+        return NON_ALPHANUMERIC.matcher(name.toLowerCase()).replaceAll("");
     }
 }
\ No newline at end of file
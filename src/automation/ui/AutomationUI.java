@@ -378,8 +378,6 @@ public class AutomationUI {
     public static int[] showMultiOptionDialog(Component parent, String message, String title, List<WebElement> headers) {
         List<String> headerTitles = new ArrayList<String>();
         List<Boolean> isGroupHeader = new ArrayList<Boolean>();
-        List<Integer> groupIds = new ArrayList<Integer>();
-        int currentGroup = -1;
         
         for (WebElement header : headers) {
             String text = header.getText().trim();
@@ -392,15 +390,24 @@ public class AutomationUI {
                 continue;
             }
             
-            boolean isGroup = text.endsWith("Templates") && 
-                             "header2".equals(header.getDomAttribute("class"));
-            
+            headerTitles.add(text);
+            isGroupHeader.add(text.endsWith("Templates") && 
+                             "header2".equals(header.getDomAttribute("class")));
+        }
+        
+        return showMultiOptionDialog(parent, message, title, headerTitles, isGroupHeader);
+    }
+    
+    // Same dialog from titles already read; clicking a group row toggles the rows under it
+    public static int[] showMultiOptionDialog(Component parent, String message, String title,
+                                              List<String> headerTitles, List<Boolean> isGroupHeader) {
+        List<Integer> groupIds = new ArrayList<Integer>();
+        int currentGroup = -1;
+        
+        for (boolean isGroup : isGroupHeader) {
             if (isGroup) {
                 currentGroup++;
             }
-            
-            headerTitles.add(text);
-            isGroupHeader.add(isGroup);
             groupIds.add(isGroup ? -1 : currentGroup);
         }
 
@@ -0,0 +1,87 @@
+package automation.ui;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Progress sink for batch runs: writes to stdout as text or JSON lines and never touches Swing
+public class ConsoleProgressUI extends ProgressUI {
+    private final boolean json;
+    private final Json jsonWriter = new Json();
+    private int mainMax = 1;
+    private int stepMax = 100;
+
+    public ConsoleProgressUI(boolean json) {
+        this.json = json;
+    }
+
+    @Override
+    public void showProgress(String title, String initialMessage) {
+        emit("start", Map.of("title", String.valueOf(title), "message", String.valueOf(initialMessage)));
+    }
+
+    @Override
+    public void setMainProgressMax(int max) {
+        mainMax = max;
+    }
+
+    @Override
+    public void setStepProgressMax(int max) {
+        stepMax = max;
+    }
+
+    @Override
+    public void updateMainProgress(int value) {
+        emit("main", Map.of("value", value, "max", mainMax));
+    }
+
+    @Override
+    public void updateStepProgress(int value, String message) {
+        emit("step", Map.of("value", value, "max", stepMax, "message", String.valueOf(message)));
+    }
+
+    @Override
+    public void updateStatus(String message) {
+        emit("status", Map.of("message", String.valueOf(message)));
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        // Nothing to show or hide
+    }
+
+    @Override
+    public void close() {
+        emit("close", Map.of());
+    }
+
+    private synchronized void emit(String type, Map<String, Object> fields) {
+        if (json) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("time", System.currentTimeMillis());
+            event.put("type", type);
+            event.putAll(fields);
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput out = jsonWriter.newOutput(line).setPrettyPrint(false)) {
+                out.write(event);
+            }
+            System.out.println(line);
+            return;
+        }
+
+        switch (type) {
+            case "main":
+                System.out.printf("Progress %s/%s%n", fields.get("value"), fields.get("max"));
+                break;
+            case "step":
+                System.out.printf("  %3s%% %s%n", fields.get("value"), fields.get("message"));
+                break;
+            case "close":
+                break;
+            default:
+                System.out.println(fields.get(type.equals("start") ? "title" : "message"));
+        }
+    }
+}
@@ -1,51 +1,92 @@
 package automation.ui;
 
 import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+// Updates may come from any thread and only swap in the latest state per bar;
+// a Swing timer applies whatever changed on the EDT at a bounded rate, so many
+// workers reporting per item cost a CAS each and never queue up repaints.
 public class ProgressUI {
+    private static final int REFRESH_INTERVAL_MS = 50;
+
     private JDialog progressDialog;
     private JProgressBar mainProgressBar;
     private JProgressBar stepProgressBar;
     private JLabel statusLabel;
+    private Timer refreshTimer;
+
+    private final AtomicReference<BarState> mainState = new AtomicReference<>(new BarState(0, 100, null));
+    private final AtomicReference<BarState> stepState = new AtomicReference<>(new BarState(0, 100, null));
+    private final AtomicReference<String> statusText = new AtomicReference<>("");
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private static final class BarState {
+        final int value;
+        final int max;
+        final String text;
+
+        BarState(int value, int max, String text) {
+            this.value = value;
+            this.max = max;
+            this.text = text;
+        }
+    }
 
     public void showProgress(String title, String initialMessage) {
-        progressDialog = AutomationUI.createStyledDialog(title, 400, 200);
-        JPanel content = (JPanel)((JPanel)progressDialog.getContentPane()).getComponent(1);
-        
-        statusLabel = AutomationUI.createLabel(initialMessage);
-        content.add(statusLabel);
-        
-        mainProgressBar = new JProgressBar(0, 100);
-        mainProgressBar.setStringPainted(true);
-        content.add(mainProgressBar);
-        
-        stepProgressBar = new JProgressBar(0, 100);
-        stepProgressBar.setStringPainted(true);
-        content.add(stepProgressBar);
-        
-        progressDialog.setVisible(true);
+        mainState.set(new BarState(0, 100, null));
+        stepState.set(new BarState(0, 100, null));
+        statusText.set(initialMessage);
+        runOnEdt(() -> {
+            progressDialog = AutomationUI.createStyledDialog(title, 400, 200);
+            JPanel content = (JPanel)((JPanel)progressDialog.getContentPane()).getComponent(1);
+
+            statusLabel = AutomationUI.createLabel(initialMessage);
+            content.add(statusLabel);
+
+            mainProgressBar = new JProgressBar(0, 100);
+            mainProgressBar.setStringPainted(true);
+            content.add(mainProgressBar);
+
+            stepProgressBar = new JProgressBar(0, 100);
+            stepProgressBar.setStringPainted(true);
+            content.add(stepProgressBar);
+
+            applyPending();
+            if (refreshTimer == null) {
+                refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> {
+                    if (dirty.getAndSet(false)) applyPending();
+                });
+                refreshTimer.start();
+            }
+            progressDialog.setVisible(true);
+        });
     }
 
     public void setMainProgressMax(int max) {
-        mainProgressBar.setMaximum(max);
+        mainState.updateAndGet(s -> new BarState(s.value, max, s.text));
+        dirty.set(true);
     }
 
     public void setStepProgressMax(int max) {
-        stepProgressBar.setMaximum(max);
+        stepState.updateAndGet(s -> new BarState(s.value, max, s.text));
+        dirty.set(true);
     }
 
     public void updateMainProgress(int value) {
-        mainProgressBar.setValue(value);
-        mainProgressBar.setString(value + "/" + mainProgressBar.getMaximum());
+        mainState.updateAndGet(s -> new BarState(value, s.max, null));
+        dirty.set(true);
     }
 
     public void updateStepProgress(int value, String message) {
-        stepProgressBar.setValue(value);
-        stepProgressBar.setString(message);
+        stepState.updateAndGet(s -> new BarState(value, s.max, message));
+        dirty.set(true);
     }
 
     public void updateStatus(String message) {
-        statusLabel.setText(message);
+        statusText.set(message);
+        dirty.set(true);
     }
 
     public void updateDualProgress(int mainValue, int stepValue, String status) {
@@ -53,7 +94,7 @@ public class ProgressUI {
         updateStepProgress(stepValue, status);
         updateStatus(status);
     }
-    
+
     public void startTask(String taskName) {
         showProgress(taskName, "Starting...");
         resetProgress();
@@ -75,16 +116,55 @@ public class ProgressUI {
         updateStepProgress(100, "⏹ Task cancelled");
         updateStatus("Operation cancelled by user");
     }
-    
+
     public void setVisible(boolean visible) {
-        if (progressDialog != null) {
-            progressDialog.setVisible(visible);
-        }
+        runOnEdt(() -> {
+            if (progressDialog != null) {
+                progressDialog.setVisible(visible);
+            }
+        });
     }
 
     public void close() {
-        if (progressDialog != null) {
-            progressDialog.dispose();
+        runOnEdt(() -> {
+            if (refreshTimer != null) {
+                refreshTimer.stop();
+                refreshTimer = null;
+            }
+            if (progressDialog != null) {
+                progressDialog.dispose();
+            }
+        });
+    }
+
+    // EDT only: copies the latest state into the components
+    private void applyPending() {
+        if (mainProgressBar == null) return;
+
+        BarState main = mainState.get();
+        mainProgressBar.setMaximum(main.max);
+        mainProgressBar.setValue(main.value);
+        mainProgressBar.setString(main.value + "/" + main.max);
+
+        BarState step = stepState.get();
+        stepProgressBar.setMaximum(step.max);
+        stepProgressBar.setValue(step.value);
+        stepProgressBar.setString(step.text);
+
+        statusLabel.setText(statusText.get());
+    }
+
+    private static void runOnEdt(Runnable action) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package automation.ui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Progress view for one worker session: step messages are tagged with the
+// session number and main progress is summed across all workers
+public class ShardProgressUI extends ProgressUI {
+    private final ProgressUI delegate;
+    private final AtomicInteger sharedCompleted;
+    private final String prefix;
+    private int lastReported = 0;
+
+    public ShardProgressUI(ProgressUI delegate, AtomicInteger sharedCompleted, int sessionNumber) {
+        this.delegate = delegate;
+        this.sharedCompleted = sharedCompleted;
+        this.prefix = "[Session " + sessionNumber + "] ";
+    }
+
+    @Override
+    public void showProgress(String title, String initialMessage) {
+        // The coordinating task owns the dialog
+    }
+
+    @Override
+    public void setMainProgressMax(int max) {
+        // Total is set once by the coordinating task
+    }
+
+    @Override
+    public void setStepProgressMax(int max) {
+        // Shared step bar keeps its own maximum
+    }
+
+    @Override
+    public void updateMainProgress(int value) {
+        int delta = value - lastReported;
+        lastReported = value;
+        delegate.updateMainProgress(sharedCompleted.addAndGet(delta));
+    }
+
+    @Override
+    public void updateStepProgress(int value, String message) {
+        delegate.updateStepProgress(value, prefix + message);
+    }
+
+    @Override
+    public void updateStatus(String message) {
+        delegate.updateStatus(prefix + message);
+    }
+
+    @Override
+    public void resetProgress() {
+        // Resetting one worker must not rewind the shared bar
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        delegate.setVisible(visible);
+    }
+
+    @Override
+    public void close() {
+        // Only the coordinating task closes the dialog
+    }
+}
@@ -0,0 +1,160 @@
+package automation.helpers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+
+// Runs HttpFormSubmitter against a local stub of the part-list endpoints. No test framework is
+// on the classpath, so this is a plain program that exits non-zero when a check fails:
+//   javac -cp "<selenium jars>" -d out src/automation/helpers/*.java test/automation/helpers/*.java
+//   java -cp "out:<selenium jars>" automation.helpers.HttpFormSubmitterTest
+public class HttpFormSubmitterTest {
+    private static final String FORM_PAGE = "/PricingAndConfig/PartList/Ironmongery";
+    private static final List<String> failures = new ArrayList<>();
+    private static String lastBody;
+
+    public static void main(String[] args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", HttpFormSubmitterTest::handle);
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        try {
+            check(base, "redirect-to-part", null, "created");
+            check(base, "json-success", null, "created");
+            check(base, "json-id", null, "created");
+            check(base, "html-marker", "Part saved", "created");
+            check(base, "bad-request", null, "rejected");
+            check(base, "json-failure", null, "rejected");
+            check(base, "html-validation", null, "rejected");
+            check(base, "login-redirect", null, "rejected");
+            check(base, "html-plain", null, "unconfirmed");
+            check(base, "redirect-to-form", null, "unconfirmed");
+            check(base, "server-error", null, "unconfirmed");
+            check(base, "gateway-timeout", null, "unconfirmed");
+            check(closedPortBase(), "json-success", null, "rejected");
+            checkEncoding(base);
+        } finally {
+            server.stop(0);
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(f -> System.out.println("❌ " + f));
+            System.exit(1);
+        }
+        System.out.println("✅ HttpFormSubmitter checks passed");
+    }
+
+    // For posts, the last path segment picks the stub's answer
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            // Where redirects land: the login page, or any other page of the site
+            respond(exchange, 200, "text/html", path.endsWith("/Login")
+                ? "<input id=\"login_user_name\">" : "<html>part list</html>");
+            return;
+        }
+        lastBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        switch (path.substring(path.lastIndexOf('/') + 1)) {
+            case "redirect-to-part": redirect(exchange, "/PricingAndConfig/Part/123"); break;
+            case "redirect-to-form": redirect(exchange, path); break;
+            case "login-redirect": redirect(exchange, "/Login"); break;
+            case "json-success": respond(exchange, 200, "application/json", "{\"success\":true}"); break;
+            case "json-id": respond(exchange, 200, "application/json", "{\"id\":42}"); break;
+            case "json-failure":
+                respond(exchange, 200, "application/json", "{\"success\":false,\"message\":\"Duplicate part_no\"}");
+                break;
+            case "html-marker": respond(exchange, 200, "text/html", "<p>Part saved</p>"); break;
+            case "html-validation":
+                respond(exchange, 200, "text/html", "<div class=\"validation-summary-errors\">Duplicate</div>");
+                break;
+            case "bad-request": respond(exchange, 400, "text/plain", "bad"); break;
+            case "server-error": respond(exchange, 500, "text/html", "<p>Something went wrong</p>"); break;
+            case "gateway-timeout": respond(exchange, 504, "text/html", "<p>Gateway Timeout</p>"); break;
+            default: respond(exchange, 200, "text/html", "<html>part list</html>");
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(303, -1);
+        exchange.close();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", type);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static HttpFormSubmitter submitter(String base, String endpoint) {
+        Map<String, HttpFormSubmitter.FormField> fields = new HashMap<>();
+        fields.put("part_no", new HttpFormSubmitter.FormField("PartNo", "text", "on"));
+        HttpFormSubmitter.FormField finish = new HttpFormSubmitter.FormField("FinishId", "select", "on");
+        finish.addOption("Polished Brass", "7");
+        fields.put("finish", finish);
+        fields.put("active", new HttpFormSubmitter.FormField("Active", "checkbox", "true"));
+
+        List<String[]> defaults = new ArrayList<>();
+        defaults.add(new String[] { "__RequestVerificationToken", "abc" });
+        defaults.add(new String[] { "Active", "true" });
+        return new HttpFormSubmitter(new HttpFormSubmitter.FormSpec(
+            URI.create(base + FORM_PAGE + "/" + endpoint), defaults, fields), Map.of());
+    }
+
+    // Nothing listens here, so the post is refused before any of it is sent
+    private static String closedPortBase() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return "http://127.0.0.1:" + socket.getLocalPort();
+        }
+    }
+
+    private static void check(String base, String endpoint, String marker, String expected) {
+        HttpFormSubmitter submitter = submitter(base, endpoint);
+        submitter.setSuccessMarker(marker);
+        String outcome;
+        try {
+            submitter.submitAsync(Map.of("part_no", "P1")).join();
+            outcome = "created";
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof HttpFormSubmitter.SubmitException) {
+                outcome = ((HttpFormSubmitter.SubmitException) e.getCause()).isRejected() ? "rejected" : "unconfirmed";
+            } else {
+                outcome = "error: " + e.getCause();
+            }
+        }
+        if (!expected.equals(outcome)) {
+            failures.add(endpoint + ": expected " + expected + ", got " + outcome);
+        }
+    }
+
+    private static void checkEncoding(String base) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("part_no", "P 1&2");
+        values.put("finish", "polished brass");
+        values.put("active", "false");
+        submitter(base, "json-success").submitAsync(values).join();
+
+        Set<String> pairs = new HashSet<>(Arrays.asList(lastBody.split("&")));
+        Set<String> expected = Set.of("__RequestVerificationToken=abc", "PartNo=P+1%262", "FinishId=7");
+        if (!pairs.equals(expected)) {
+            failures.add("encoding: expected " + expected + ", got " + pairs);
+        }
+
+        try {
+            submitter(base, "json-success").encode(Map.of("finish", "Satin Chrome"));
+            failures.add("encoding: unknown option was accepted");
+        } catch (IllegalArgumentException e) {
+            // Expected: the browser path handles unknown options
+        }
+    }
+}